@@ -0,0 +1,681 @@
+package sherrloc.constraint.analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import sherrloc.constraint.ast.Application;
+import sherrloc.constraint.ast.Element;
+import sherrloc.constraint.ast.JoinElement;
+import sherrloc.constraint.ast.MeetElement;
+import sherrloc.graph.ConstraintEdge;
+import sherrloc.graph.ConstraintGraph;
+import sherrloc.graph.ConstructorEdge;
+import sherrloc.graph.DummyEdge;
+import sherrloc.graph.Edge;
+import sherrloc.graph.JoinEdge;
+import sherrloc.graph.MeetEdge;
+import sherrloc.graph.Node;
+
+/**
+ * Saturate a constraint graph that only has LEQ edges on variables, constants,
+ * joins and meets (see {@link #isApplicable(ConstraintGraph)}). No LEFT or
+ * RIGHT edges can be derived in such a graph, so the saturated graph is the
+ * transitive closure of the LEQ edges, extended by the properties of join and
+ * meet.
+ * <p>
+ * The nodes reachable from each node are stored in a bitset of
+ * <code>long</code> words. Strongly connected components are visited in
+ * reverse topological order (Tarjan's algorithm), so that the bitset of a
+ * component is the bitwise OR of the bitsets of its successors. Edges inferred
+ * for join and meet elements are added, and the closure is computed again,
+ * until no more edges can be inferred.
+ * <p>
+ * Paths are not recorded during saturation. A shortest path is reconstructed
+ * on demand from a shortest path tree rooted at either end node, and recently
+ * used trees are cached.
+ */
+public class BitSetPathFinder implements PathFinder {
+	private static final int MAX = 100000;
+	/** number of cached shortest path trees in each direction */
+	private static final int CACHED_TREES = 32;
+
+	private final ConstraintGraph g;
+	private final int size;
+	private final int words;
+
+	/** edges: graph edges first, followed by inferred edges */
+	private int edgeCount = 0;
+	private int[] edgeFrom = new int[16];
+	private int[] edgeTo = new int[16];
+	private int[] edgeLength = new int[16];
+	/** end nodes of the partial orderings used to infer an edge, or null for graph edges */
+	private List<int[][]> evidences = new ArrayList<int[][]>();
+	/** outgoing and incoming edges of each node */
+	private int[][] out, in;
+	private int[] outCount, inCount;
+
+	/** reach[i] is the set of nodes j such that an LEQ edge i to j is derivable */
+	private long[][] reach;
+	/** nodes of top elements */
+	private long[] tops;
+
+	private Map<Integer, Tree> forwardTrees = new TreeCache();
+	private Map<Integer, Tree> backwardTrees = new TreeCache();
+	/** start node of the last path requested, or -1 */
+	private int lastStart = -1;
+
+	/**
+	 * @param graph
+	 *            A graph to be saturated, which satisfies
+	 *            {@link #isApplicable(ConstraintGraph)}
+	 * @param verbose
+	 *            True to print out the time of saturation
+	 */
+	public BitSetPathFinder(ConstraintGraph graph, boolean verbose) {
+		long startTime = System.currentTimeMillis();
+		g = graph;
+		int maxIndex = -1;
+		for (Node n : g.getAllNodes())
+			maxIndex = Math.max(maxIndex, n.getIndex());
+		size = maxIndex + 1;
+		words = (size + 63) >>> 6;
+		out = new int[size][];
+		in = new int[size][];
+		outCount = new int[size];
+		inCount = new int[size];
+		tops = new long[words];
+		for (Node n : g.getAllNodes()) {
+			if (n.getElement().isTop())
+				set(tops, n.getIndex());
+		}
+
+		for (Edge edge : g.getAllEdges()) {
+			if ((edge instanceof ConstraintEdge || edge instanceof MeetEdge || edge instanceof JoinEdge)
+					&& !edge.getFrom().equals(edge.getTo()))
+				addEdge(edge.getFrom().getIndex(), edge.getTo().getIndex(), 1, null);
+		}
+		saturation();
+		long endTime = System.currentTimeMillis();
+		if (verbose)
+			System.out.println("path_finding time: " + (endTime - startTime));
+	}
+
+	/**
+	 * Return true if the saturation of <code>graph</code> only involves LEQ
+	 * edges, joins and meets. That is, the graph has no constructor edges, no
+	 * constructor or function applications, and no axioms
+	 */
+	public static boolean isApplicable(ConstraintGraph graph) {
+		if (!graph.getRules().isEmpty())
+			return false;
+		for (Node n : graph.getAllNodes()) {
+			if (n.getElement() instanceof Application)
+				return false;
+		}
+		for (Edge edge : graph.getAllEdges()) {
+			if (edge instanceof ConstructorEdge)
+				return false;
+		}
+		return true;
+	}
+
+	private static boolean get(long[] bits, int i) {
+		return (bits[i >>> 6] & (1L << i)) != 0;
+	}
+
+	private static void set(long[] bits, int i) {
+		bits[i >>> 6] |= 1L << i;
+	}
+
+	private static void clear(long[] bits, int i) {
+		bits[i >>> 6] &= ~(1L << i);
+	}
+
+	private void addEdge(int from, int to, int length, int[][] evidence) {
+		if (edgeCount == edgeFrom.length) {
+			edgeFrom = Arrays.copyOf(edgeFrom, edgeCount * 2);
+			edgeTo = Arrays.copyOf(edgeTo, edgeCount * 2);
+			edgeLength = Arrays.copyOf(edgeLength, edgeCount * 2);
+		}
+		int e = edgeCount++;
+		edgeFrom[e] = from;
+		edgeTo[e] = to;
+		edgeLength[e] = length;
+		evidences.add(evidence);
+		addAdjacent(out, outCount, from, e);
+		addAdjacent(in, inCount, to, e);
+	}
+
+	private void addAdjacent(int[][] adj, int[] count, int node, int e) {
+		if (adj[node] == null)
+			adj[node] = new int[4];
+		else if (count[node] == adj[node].length)
+			adj[node] = Arrays.copyOf(adj[node], count[node] * 2);
+		adj[node][count[node]++] = e;
+	}
+
+	/**
+	 * Compute the closure, and infer edges for join and meet elements until
+	 * no more edges can be inferred
+	 */
+	private void saturation() {
+		while (true) {
+			computeClosure();
+			int before = edgeCount;
+			for (Node n : g.getAllNodes()) {
+				if (n.getElement() instanceof JoinElement)
+					inferJoinEdges(n);
+				else if (n.getElement() instanceof MeetElement)
+					inferMeetEdges(n);
+			}
+			if (edgeCount == before)
+				break;
+			forwardTrees.clear();
+			backwardTrees.clear();
+		}
+		forwardTrees.clear();
+		backwardTrees.clear();
+	}
+
+	/**
+	 * Compute the nodes reachable from each node. Components are numbered by
+	 * Tarjan's algorithm in reverse topological order, so the successors of
+	 * a component are complete when the component is visited
+	 */
+	private void computeClosure() {
+		int[] index = new int[size];
+		int[] low = new int[size];
+		Arrays.fill(index, -1);
+		boolean[] onStack = new boolean[size];
+		int[] stack = new int[size];
+		int sp = 0;
+		// explicit call stack: node and the position in its outgoing edges
+		int[] callNode = new int[size];
+		int[] callPos = new int[size];
+		int counter = 0;
+		reach = new long[size][];
+
+		for (Node root : g.getAllNodes()) {
+			if (index[root.getIndex()] >= 0)
+				continue;
+			int depth = 0;
+			callNode[0] = root.getIndex();
+			callPos[0] = 0;
+			index[root.getIndex()] = low[root.getIndex()] = counter++;
+			stack[sp++] = root.getIndex();
+			onStack[root.getIndex()] = true;
+			while (depth >= 0) {
+				int v = callNode[depth];
+				if (callPos[depth] < outCount[v]) {
+					int w = edgeTo[out[v][callPos[depth]++]];
+					if (index[w] < 0) {
+						index[w] = low[w] = counter++;
+						stack[sp++] = w;
+						onStack[w] = true;
+						depth++;
+						callNode[depth] = w;
+						callPos[depth] = 0;
+					} else if (onStack[w])
+						low[v] = Math.min(low[v], index[w]);
+					continue;
+				}
+				if (low[v] == index[v]) {
+					int first = sp - 1;
+					while (stack[first] != v)
+						first--;
+					closeComponent(stack, first, sp, onStack);
+					sp = first;
+				}
+				depth--;
+				if (depth >= 0)
+					low[callNode[depth]] = Math.min(low[callNode[depth]], low[v]);
+			}
+		}
+	}
+
+	/**
+	 * Compute the reachable nodes of a strongly connected component, whose
+	 * nodes are <code>stack[first..last)</code>
+	 */
+	private void closeComponent(int[] stack, int first, int last, boolean[] onStack) {
+		long[] bits = new long[words];
+		boolean cyclic = last - first > 1;
+		for (int i = first; i < last; i++)
+			onStack[stack[i]] = false;
+		for (int i = first; i < last; i++) {
+			int v = stack[i];
+			for (int k = 0; k < outCount[v]; k++) {
+				int w = edgeTo[out[v][k]];
+				// successors outside of the component are already closed
+				if (reach[w] != null && reach[w] != bits) {
+					long[] succ = reach[w];
+					for (int j = 0; j < words; j++)
+						bits[j] |= succ[j];
+				}
+				set(bits, w);
+			}
+			reach[v] = bits;
+		}
+		if (!cyclic)
+			clear(bits, stack[first]);
+	}
+
+	/**
+	 * @return True if an LEQ edge from node <code>from</code> to
+	 *         <code>to</code> is derivable
+	 */
+	private boolean isInferred(int from, int to) {
+		return from != to && reach[from] != null && get(reach[from], to);
+	}
+
+	/**
+	 * @return True if <code>from</code> is less than or equal to
+	 *         <code>to</code>, including the partial orderings that are not
+	 *         represented by edges
+	 */
+	private boolean isLeq(int from, int to) {
+		return from == to || g.getNode(from).getElement().isBottom() || get(tops, to) || isInferred(from, to);
+	}
+
+	/**
+	 * Infer an edge from join element <code>join</code> to each least node
+	 * that all components flow into. The candidates are computed by a bitwise
+	 * AND of the components. An edge to a candidate above another one is
+	 * derivable by transitivity, so it is not added
+	 */
+	private void inferJoinEdges(Node join) {
+		List<Element> elements = ((JoinElement) join.getElement()).getElements();
+		int[] comps = new int[elements.size()];
+		long[] candidates = new long[words];
+		long[] explicit = new long[words];
+		Arrays.fill(candidates, -1L);
+		for (int i = 0; i < comps.length; i++) {
+			comps[i] = g.getNode(elements.get(i)).getIndex();
+			if (g.getNode(comps[i]).getElement().isBottom())
+				continue;
+			long[] succ = reach[comps[i]];
+			int self = comps[i] >>> 6;
+			for (int j = 0; j < words; j++) {
+				candidates[j] &= succ[j] | tops[j] | (j == self ? 1L << comps[i] : 0L);
+				explicit[j] |= succ[j];
+			}
+		}
+
+		int jIndex = join.getIndex();
+		long[] bounds = new long[words];
+		long[] above = new long[words];
+		for (int j = 0; j < words; j++) {
+			// at least one component flows into a candidate by inferred edges
+			for (long w = candidates[j] & explicit[j]; w != 0; w &= w - 1) {
+				int t = (j << 6) + Long.numberOfTrailingZeros(w);
+				if (t == jIndex || isLeq(jIndex, t))
+					continue;
+				set(bounds, t);
+				long[] succ = reach[t];
+				for (int k = 0; k < words; k++)
+					above[k] |= succ[k];
+			}
+		}
+
+		List<Tree> trees = null;
+		for (int j = 0; j < words; j++) {
+			for (long w = bounds[j]; w != 0; w &= w - 1) {
+				int t = (j << 6) + Long.numberOfTrailingZeros(w);
+				if (get(reach[t], t) ? isAboveOther(t, bounds) : get(above, t))
+					continue;
+				if (trees == null) {
+					trees = new ArrayList<Tree>();
+					for (int c : comps)
+						trees.add(buildTree(c, true));
+				}
+				int length = 0;
+				List<int[]> evidence = new ArrayList<int[]>();
+				for (int i = 0; i < comps.length; i++) {
+					if (isInferred(comps[i], t)) {
+						length += trees.get(i).dist[t];
+						evidence.add(new int[] { comps[i], t });
+					} else
+						length++;
+				}
+				addEdge(jIndex, t, length, evidence.toArray(new int[evidence.size()][]));
+			}
+		}
+	}
+
+	/**
+	 * @return True if node <code>t</code> on a cycle is above another node in
+	 *         <code>nodes</code>. Of the nodes on the same cycle, only the one
+	 *         with the least index is not
+	 */
+	private boolean isAboveOther(int t, long[] nodes) {
+		for (int j = 0; j < words; j++) {
+			for (long w = nodes[j]; w != 0; w &= w - 1) {
+				int c = (j << 6) + Long.numberOfTrailingZeros(w);
+				if (c != t && get(reach[c], t) && (reach[c] != reach[t] || c < t))
+					return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return True if node <code>u</code> is below another node in
+	 *         <code>nodes</code>. Of the nodes on the same cycle, only the one
+	 *         with the least index is not
+	 */
+	private boolean isBelowOther(int u, long[] nodes) {
+		long[] succ = reach[u];
+		for (int j = 0; j < words; j++) {
+			for (long w = succ[j] & nodes[j]; w != 0; w &= w - 1) {
+				int c = (j << 6) + Long.numberOfTrailingZeros(w);
+				if (c != u && (reach[c] != succ || c < u))
+					return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Infer an edge to meet element <code>meet</code> from each greatest node
+	 * that flows into all components
+	 */
+	private void inferMeetEdges(Node meet) {
+		List<Element> elements = ((MeetElement) meet.getElement()).getElements();
+		int[] comps = new int[elements.size()];
+		for (int i = 0; i < comps.length; i++)
+			comps[i] = g.getNode(elements.get(i)).getIndex();
+		int mIndex = meet.getIndex();
+		long[] bounds = new long[words];
+		for (Node n : g.getAllNodes()) {
+			int u = n.getIndex();
+			if (u == mIndex || isLeq(u, mIndex))
+				continue;
+			boolean success = true, explicit = false;
+			for (int c : comps) {
+				if (!isLeq(u, c)) {
+					success = false;
+					break;
+				}
+				explicit |= isInferred(u, c);
+			}
+			if (success && explicit)
+				set(bounds, u);
+		}
+
+		List<Tree> trees = null;
+		for (int j = 0; j < words; j++) {
+			for (long w = bounds[j]; w != 0; w &= w - 1) {
+				int u = (j << 6) + Long.numberOfTrailingZeros(w);
+				if (isBelowOther(u, bounds))
+					continue;
+				if (trees == null) {
+					trees = new ArrayList<Tree>();
+					for (int c : comps)
+						trees.add(buildTree(c, false));
+				}
+				int length = 0;
+				List<int[]> evidence = new ArrayList<int[]>();
+				for (int i = 0; i < comps.length; i++) {
+					if (isInferred(u, comps[i])) {
+						length += trees.get(i).dist[u];
+						evidence.add(new int[] { u, comps[i] });
+					} else
+						length++;
+				}
+				addEdge(u, mIndex, length, evidence.toArray(new int[evidence.size()][]));
+			}
+		}
+	}
+
+	/**
+	 * A shortest path tree rooted at a node. For a forward tree,
+	 * <code>via[v]</code> is the last edge on the shortest path from the root
+	 * to <code>v</code>; for a backward tree, it is the first edge on the
+	 * shortest path from <code>v</code> to the root
+	 */
+	private static class Tree {
+		final int[] dist;
+		final int[] via;
+
+		Tree(int size) {
+			dist = new int[size];
+			via = new int[size];
+			Arrays.fill(dist, MAX);
+			Arrays.fill(via, -1);
+		}
+	}
+
+	/**
+	 * A cache of the most recently used trees
+	 */
+	private static class TreeCache extends LinkedHashMap<Integer, Tree> {
+		private static final long serialVersionUID = 1L;
+
+		TreeCache() {
+			super(16, 0.75f, true);
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, Tree> eldest) {
+			return size() > CACHED_TREES;
+		}
+	}
+
+	/**
+	 * Dijkstra's algorithm on the edges computed so far
+	 *
+	 * @param root
+	 *            Root of the tree
+	 * @param forward
+	 *            True for paths from the root, false for paths to the root
+	 */
+	private Tree buildTree(int root, boolean forward) {
+		Tree tree = new Tree(size);
+		PriorityQueue<Long> queue = new PriorityQueue<Long>();
+		tree.dist[root] = 0;
+		queue.add((long) root);
+		while (!queue.isEmpty()) {
+			long top = queue.poll();
+			int v = (int) top, d = (int) (top >>> 32);
+			if (d > tree.dist[v])
+				continue;
+			int[][] adj = forward ? out : in;
+			int count = forward ? outCount[v] : inCount[v];
+			for (int k = 0; k < count; k++) {
+				int e = adj[v][k];
+				int w = forward ? edgeTo[e] : edgeFrom[e];
+				int nd = d + edgeLength[e];
+				if (nd < tree.dist[w]) {
+					tree.dist[w] = nd;
+					tree.via[w] = e;
+					queue.add(((long) nd << 32) | w);
+				}
+			}
+		}
+		return tree;
+	}
+
+	/**
+	 * @return Edges on a shortest path from node <code>from</code> to
+	 *         <code>to</code>, using a cached tree rooted at either end when
+	 *         possible. When paths are requested on both directions of the
+	 *         same pair (e.g., in
+	 *         {@link ConstraintAnalysisImpl#genErrorPaths(ConstraintGraph)}),
+	 *         a new tree is rooted at the end node that the last path starts
+	 *         from, so that it is used by the following requests
+	 */
+	private List<Integer> getShortestPath(int from, int to) {
+		List<Integer> ret = new ArrayList<Integer>();
+		Tree tree = backwardTrees.get(to);
+		if (tree == null && forwardTrees.get(from) == null && to == lastStart) {
+			tree = buildTree(to, false);
+			backwardTrees.put(to, tree);
+		}
+		if (tree == null) {
+			tree = forwardTrees.get(from);
+			if (tree == null) {
+				tree = buildTree(from, true);
+				forwardTrees.put(from, tree);
+			}
+			for (int v = to; v != from; v = edgeFrom[tree.via[v]])
+				ret.add(tree.via[v]);
+			Collections.reverse(ret);
+		} else {
+			for (int v = from; v != to; v = edgeTo[tree.via[v]])
+				ret.add(tree.via[v]);
+		}
+		return ret;
+	}
+
+	/**
+	 * Append the graph edges of an edge to <code>ret</code>. The paths of the
+	 * partial orderings used to infer an edge are connected by dummy edges,
+	 * as in {@link CFLPathFinder#getPath(Node, Node)}
+	 */
+	private void expandEdge(int e, List<Edge> ret) {
+		Node start = g.getNode(edgeFrom[e]), end = g.getNode(edgeTo[e]);
+		int[][] evis = evidences.get(e);
+		if (evis == null) {
+			ret.add(g.getLeqEdge(start, end));
+			return;
+		}
+		for (int i = 0; i < evis.length; i++) {
+			Node eviStart = g.getNode(evis[i][0]), eviEnd = g.getNode(evis[i][1]);
+			Node next = i < evis.length - 1 ? g.getNode(evis[i + 1][0]) : end;
+			boolean needDummy = !start.equals(eviStart) || !next.equals(eviEnd);
+			if (needDummy)
+				ret.add(new DummyEdge(start, eviStart, true));
+			expandPath(eviStart, eviEnd, ret);
+			if (needDummy)
+				ret.add(new DummyEdge(eviEnd, next, false));
+			start = eviEnd;
+		}
+	}
+
+	@Override
+	public List<Edge> getPath(Node start, Node end) {
+		List<Edge> ret = new ArrayList<Edge>();
+		if (!isInferred(start.getIndex(), end.getIndex()))
+			return ret;
+		List<Integer> edges = getShortestPath(start.getIndex(), end.getIndex());
+		lastStart = start.getIndex();
+		for (int e : edges)
+			expandEdge(e, ret);
+		return ret;
+	}
+
+	/**
+	 * Append the graph edges of a path from <code>start</code> to
+	 * <code>end</code> to <code>ret</code>, where <code>start</code> flows into
+	 * <code>end</code> by inferred edges
+	 */
+	private void expandPath(Node start, Node end, List<Edge> ret) {
+		for (int e : getShortestPath(start.getIndex(), end.getIndex()))
+			expandEdge(e, ret);
+	}
+
+	@Override
+	public boolean hasLeqEdge(Node from, Node end) {
+		return from.getElement().isBottom() || end.getElement().isTop() || from.getElement().equals(end.getElement())
+				|| isInferred(from.getIndex(), end.getIndex());
+	}
+
+	@Override
+	public Set<Node> getFlowsTo(Node from) {
+		Set<Node> ret = new HashSet<Node>();
+		long[] bits = reach[from.getIndex()];
+		for (int j = 0; j < words; j++) {
+			for (long w = bits[j]; w != 0; w &= w - 1) {
+				int i = (j << 6) + Long.numberOfTrailingZeros(w);
+				if (i != from.getIndex())
+					ret.add(g.getNode(i));
+			}
+		}
+		return ret;
+	}
+
+	@Override
+	public Iterator<Node> getInferredSuccessors(final Node from) {
+		final long[] bits = reach[from.getIndex()];
+		return new Iterator<Node>() {
+			private int j = 0;
+			private long w = bits == null ? 0 : bits[0];
+
+			@Override
+			public boolean hasNext() {
+				while (true) {
+					// skip the node itself
+					if (w != 0 && (j << 6) + Long.numberOfTrailingZeros(w) == from.getIndex())
+						w &= w - 1;
+					if (w != 0)
+						return true;
+					if (bits == null || ++j >= words)
+						return false;
+					w = bits[j];
+				}
+			}
+
+			@Override
+			public Node next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				int i = (j << 6) + Long.numberOfTrailingZeros(w);
+				w &= w - 1;
+				return g.getNode(i);
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	@Override
+	public Set<Node> getFlowsFrom(Node to) {
+		Set<Node> ret = new HashSet<Node>();
+		for (Node n : g.getAllNodes()) {
+			if (isInferred(n.getIndex(), to.getIndex()))
+				ret.add(n);
+		}
+		return ret;
+	}
+
+	@Override
+	public int leqEdgeLength(Node from, Node end) {
+		if (from.getElement().isBottom() || end.getElement().isTop())
+			return 1;
+		else if (from.getElement().equals(end.getElement()))
+			return 0;
+		else if (!isInferred(from.getIndex(), end.getIndex()))
+			return MAX;
+		int length = 0;
+		for (int e : getShortestPath(from.getIndex(), end.getIndex()))
+			length += edgeLength[e];
+		return length;
+	}
+
+	@Override
+	public boolean hasLeftEdge(Node from, Node end) {
+		return false;
+	}
+
+	@Override
+	public List<List<Edge>> getLeftPaths(Node start, Node end) {
+		return new ArrayList<List<Edge>>();
+	}
+
+	@Override
+	public ConstraintGraph getGraph() {
+		return g;
+	}
+}
@@ -0,0 +1,81 @@
+package sherrloc.constraint.analysis;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import sherrloc.graph.ReductionEdge;
+
+/**
+ * A {@link WorkList} that puts edges into buckets indexed by their lengths
+ * (Dial's algorithm). Since lengths of reduction edges are small integers that
+ * grow slowly during saturation, both {@link #offer(ReductionEdge)} and
+ * {@link #poll()} take amortized constant time.
+ * <p>
+ * Edges of the same length are returned in the order they are added. Edges
+ * shorter than the last returned one are allowed, and are returned next.
+ */
+public class BucketWorkList implements WorkList {
+	private List<ArrayDeque<ReductionEdge>> buckets;
+	/** all buckets below this length are empty */
+	private int current;
+	private int size;
+	
+	public BucketWorkList() {
+		buckets = new ArrayList<ArrayDeque<ReductionEdge>>();
+		current = 0;
+		size = 0;
+	}
+	
+	@Override
+	public void offer(ReductionEdge edge) {
+		int length = Math.max(edge.getLength(), 0);
+		while (buckets.size() <= length)
+			buckets.add(null);
+		ArrayDeque<ReductionEdge> bucket = buckets.get(length);
+		if (bucket == null) {
+			bucket = new ArrayDeque<ReductionEdge>();
+			buckets.set(length, bucket);
+		}
+		bucket.addLast(edge);
+		if (length < current)
+			current = length;
+		size++;
+	}
+	
+	@Override
+	public ReductionEdge poll() {
+		if (size == 0)
+			return null;
+		skipEmptyBuckets();
+		size--;
+		return buckets.get(current).pollFirst();
+	}
+	
+	@Override
+	public ReductionEdge peek() {
+		if (size == 0)
+			return null;
+		skipEmptyBuckets();
+		return buckets.get(current).peekFirst();
+	}
+	
+	/**
+	 * Move the cursor to the first nonempty bucket. Assume the worklist is not
+	 * empty
+	 */
+	private void skipEmptyBuckets() {
+		while (buckets.get(current) == null || buckets.get(current).isEmpty())
+			current++;
+	}
+	
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	@Override
+	public int size() {
+		return size;
+	}
+}
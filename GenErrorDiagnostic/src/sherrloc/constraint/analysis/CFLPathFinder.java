@@ -1,15 +1,13 @@
 package sherrloc.constraint.analysis;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
 import java.util.ListIterator;
-import java.util.Map;
-import java.util.Set;
 
 import sherrloc.constraint.ast.JoinElement;
 import sherrloc.constraint.ast.MeetElement;
+import sherrloc.graph.ConditionTable;
 import sherrloc.graph.ConstraintEdge;
 import sherrloc.graph.ConstraintGraph;
 import sherrloc.graph.ConstructorEdge;
@@ -39,15 +37,22 @@ import sherrloc.graph.RightEdge;
  * by Danfeng Zhang and Andrew C. Myers
  */
 abstract public class CFLPathFinder implements PathFinder {
-	/** Edges used in CFL-reachablity algorithm */
-	protected Map<Integer, Map<Integer, Map<EdgeCondition, List<Evidence>>>> nextHop;
+	/** Evidences of edges used in CFL-reachablity algorithm */
+	protected EvidenceStore nextHop;
 	// since the RIGHT edges are rare in a graph, and no right edges are
-	// inferred, using HashMap can be more memory efficient than arrays
-	protected Map<Integer, Map<Integer, List<RightEdge>>> rightPath;
-	private Map<Integer, Set<Integer>> inferredLR;
+	// inferred, only node pairs with RIGHT edges are indexed
+	protected PairIndex rightPath;
+	private List<List<RightEdge>> rightEdges;
+	/** ids of the edge conditions of rightEdges, in the same order */
+	private List<int[]> rightConditions;
+	private static final int[] NO_CONDITIONS = new int[0];
+	/** atomic LEQ edges, indexed in both directions */
+	protected PairIndex inferredLR;
 
 	/** other fields */
 	protected final ConstraintGraph g;	
+	/** edge conditions of the graph, numbered by dense ids */
+	protected final ConditionTable conditions;
 	
 	public enum EDGE_TYPE {LEQ, LEFT, RIGHT};
 	/**
@@ -56,9 +61,12 @@ abstract public class CFLPathFinder implements PathFinder {
 	 */
 	public CFLPathFinder(ConstraintGraph graph) {
 		g = graph;
-		nextHop = new HashMap<Integer, Map<Integer, Map<EdgeCondition, List<Evidence>>>>();
-		rightPath = new HashMap<Integer, Map<Integer, List<RightEdge>>>();
-		inferredLR = new HashMap<Integer, Set<Integer>>();
+		conditions = graph.getConditions();
+		nextHop = new EvidenceStore(conditions);
+		rightPath = new PairIndex();
+		rightEdges = new ArrayList<List<RightEdge>>();
+		rightConditions = new ArrayList<int[]>();
+		inferredLR = new PairIndex();
 //		for (Node start : g.getAllNodes()) {
 //			for (Node end : g.getAllNodes()) {
 //				int sIndex = start.getIndex();
@@ -89,12 +97,41 @@ abstract public class CFLPathFinder implements PathFinder {
 	 *         <code>end</code>
 	 */
 	protected List<RightEdge> getRightEdges(Node start, Node end) {
-		if (hasRightEdges(start, end)) {
-			return rightPath.get(start.getIndex()).get(end.getIndex());
+		int slot = rightPath.find(start.getIndex(), end.getIndex());
+		if (slot >= 0) {
+			return rightEdges.get(slot);
 		} else
 			return new ArrayList<RightEdge>();
 	}
 	
+	/**
+	 * @return Ids of the edge conditions of all {@link RightEdge}s from
+	 *         <code>start</code> to <code>end</code>
+	 */
+	protected int[] getRightConditions(Node start, Node end) {
+		int slot = rightPath.find(start.getIndex(), end.getIndex());
+		return slot >= 0 ? rightConditions.get(slot) : NO_CONDITIONS;
+	}
+	
+	/**
+	 * Add a {@link RightEdge} to the graph
+	 * 
+	 * @param edge
+	 *            An edge to be added
+	 */
+	protected void addRightEdge(RightEdge edge) {
+		int slot = rightPath.add(edge.getFrom().getIndex(), edge.getTo().getIndex());
+		if (slot == rightEdges.size()) {
+			rightEdges.add(new ArrayList<RightEdge>());
+			rightConditions.add(NO_CONDITIONS);
+		}
+		rightEdges.get(slot).add(edge);
+		int[] ids = rightConditions.get(slot);
+		ids = Arrays.copyOf(ids, ids.length + 1);
+		ids[ids.length - 1] = conditions.getId(edge.cons);
+		rightConditions.set(slot, ids);
+	}
+	
 	/**
 	 * Return true if there is at least one {@link RightEdge} from
 	 * <code>fIndex</code> to <code>tIndex</code>
@@ -107,40 +144,42 @@ abstract public class CFLPathFinder implements PathFinder {
 	 *         <code>start</code> to <code>end</code>
 	 */
 	protected boolean hasRightEdges(Node start, Node end) {
-		if (rightPath.containsKey(start.getIndex()) && rightPath.get(start.getIndex()).containsKey(end.getIndex())) {
-			return true;
-		} 
-		else
-			return false;
+		return rightPath.contains(start.getIndex(), end.getIndex());
 	}
 	
 	protected void addNextHop (Node start, Node end, EdgeCondition inferredType, List<Evidence> evidence) {
-		if (!nextHop.containsKey(start.getIndex()))
-			nextHop.put(start.getIndex(), new HashMap<Integer, Map<EdgeCondition, List<Evidence>>>());
-		if (!nextHop.get(start.getIndex()).containsKey(end.getIndex()))
-			nextHop.get(start.getIndex()).put(end.getIndex(), new HashMap<EdgeCondition, List<Evidence>>());
-		nextHop.get(start.getIndex()).get(end.getIndex()).put(inferredType, evidence);
+		nextHop.set(start.getIndex(), end.getIndex(), inferredType, evidence);
 	}
 	
-	protected boolean hasNextHop (Node start, Node end, EdgeCondition inferredType) {
-		if (nextHop.containsKey(start.getIndex()) && nextHop.get(start.getIndex()).containsKey(end.getIndex())
-			&& nextHop.get(start.getIndex()).get(end.getIndex()).containsKey(inferredType))
-			return true;
-		else
-			return false;
+	/**
+	 * Record that an edge from <code>start</code> to <code>end</code> is
+	 * derived from an edge with condition <code>first</code> from
+	 * <code>start</code> to <code>mid</code>, and an edge with condition
+	 * <code>second</code> from <code>mid</code> to <code>end</code>. Edge
+	 * conditions are given by their ids (see {@link ConditionTable})
+	 */
+	protected void addNextHop (Node start, Node mid, Node end, int inferredType, int first, int second) {
+		nextHop.set(start.getIndex(), mid.getIndex(), end.getIndex(), inferredType, first, second);
 	}
 	
-	protected List<Evidence> getNextHop (Node start, Node end, EdgeCondition inferredType) {
-		return nextHop.get(start.getIndex()).get(end.getIndex()).get(inferredType);
+	protected boolean hasNextHop (Node start, Node end, EdgeCondition inferredType) {
+		return nextHop.contains(start.getIndex(), end.getIndex(), inferredType);
 	}
 	
 	/**
 	 * Convert all graph edges into {@link ReductionEdge}s
 	 */
 	protected void initialize() {
+		initialize(g.getAllEdges());
+	}
 
-		List<Edge> edges = g.getAllEdges();
-
+	/**
+	 * Convert graph edges into {@link ReductionEdge}s
+	 * 
+	 * @param edges
+	 *            Edges to be converted
+	 */
+	protected void initialize(List<Edge> edges) {
 		for (Edge edge : edges) {
 			if (edge instanceof ConstraintEdge || edge instanceof MeetEdge
 					|| edge instanceof JoinEdge) {
@@ -186,13 +225,13 @@ abstract public class CFLPathFinder implements PathFinder {
 			isRev = !isRev;
 		}
 		
-		if (ec instanceof LeqCondition && !hasNextHop(start, end, ec))
+		int entry = nextHop.find(start.getIndex(), end.getIndex(), ec);
+		if (entry < 0)
 			return;
-//		assert (nextHop[sIndex][eIndex] != null && nextHop[sIndex][eIndex].containsKey(ec));
 		
-		List<Evidence> evis = getNextHop(start, end, ec);
+		int count = nextHop.getEvidenceCount(entry);
 		// base condition
-		if (evis.isEmpty()) {
+		if (count == 0) {
 			Edge current = getOriginalEdge(start, end, ec);
 			if (current != null) {
 				if (isRev) {
@@ -208,38 +247,40 @@ abstract public class CFLPathFinder implements PathFinder {
 				//		 --dummyL--	evi2.start ---- evi2.end --dummyR-- evi3.start
 				//       ... 
 				//       --dummyL --evin.start ---- evin.end --dummyR-- end
-				for (int i=0; i<evis.size(); i++) {
-					Evidence evidence = evis.get(i);
+				for (int i=0; i<count; i++) {
+					Node eviStart = g.getNode(nextHop.getEvidenceFrom(entry, i));
+					Node eviEnd = g.getNode(nextHop.getEvidenceTo(entry, i));
 					Node next;
-					if (i < evis.size() - 1)
-						next = evis.get(i+1).start;
+					if (i < count - 1)
+						next = g.getNode(nextHop.getEvidenceFrom(entry, i+1));
 					else
 						next = end;
-					boolean needDummy = !start.equals(evidence.start) || !next.equals(evidence.end);
+					boolean needDummy = !start.equals(eviStart) || !next.equals(eviEnd);
 					if (needDummy)
-						ret.add(new DummyEdge(start, evidence.start, true));
-					getLeqPath(evidence.start, evidence.end, evidence.ty, ret, isRev);
+						ret.add(new DummyEdge(start, eviStart, true));
+					getLeqPath(eviStart, eviEnd, nextHop.getEvidenceCondition(entry, i), ret, isRev);
 					if (needDummy)
-						ret.add(new DummyEdge(evidence.end, next, false));
-					start = evidence.end;
+						ret.add(new DummyEdge(eviEnd, next, false));
+					start = eviEnd;
 				}
 			}
 			else {
-				for (int i=evis.size()-1; i>=0; i--) {
-					Evidence evidence = evis.get(i);
+				for (int i=count-1; i>=0; i--) {
+					Node eviStart = g.getNode(nextHop.getEvidenceFrom(entry, i));
+					Node eviEnd = g.getNode(nextHop.getEvidenceTo(entry, i));
 					Node next;
 					if (i > 0)
-						next = evis.get(i-1).start;
+						next = g.getNode(nextHop.getEvidenceFrom(entry, i-1));
 					else
 						next = end;
-					boolean needDummy = !start.equals(evidence.start) || !next.equals(evidence.end);
+					boolean needDummy = !start.equals(eviStart) || !next.equals(eviEnd);
 					if (needDummy)
-						ret.add(new DummyEdge(start, evidence.start, true));
-					getLeqPath(evidence.start, evidence.end, evidence.ty, ret, isRev);
+						ret.add(new DummyEdge(start, eviStart, true));
+					getLeqPath(eviStart, eviEnd, nextHop.getEvidenceCondition(entry, i), ret, isRev);
 					if (needDummy) {
-						ret.add(new DummyEdge(evidence.end, next, false));
+						ret.add(new DummyEdge(eviEnd, next, false));
 					}
-					start = evidence.end;
+					start = eviEnd;
 				}
 			}
 		}
@@ -254,9 +295,7 @@ abstract public class CFLPathFinder implements PathFinder {
 	 *            Index of end node
 	 */
 	protected void addAtomicLeqEdge (int startIdx, int endIdx) {
-		if (!inferredLR.containsKey(startIdx))
-			inferredLR.put(startIdx, new HashSet<Integer>());
-		inferredLR.get(startIdx).add(endIdx);
+		inferredLR.add(startIdx, endIdx);
 	}
 	
 	/**
@@ -269,7 +308,7 @@ abstract public class CFLPathFinder implements PathFinder {
 	 * @return True if there is an atomic LEQ edge in the graph
 	 */
 	protected boolean hasAtomicLeqEdge (int startIdx, int endIdx) {
-		return inferredLR.containsKey(startIdx) && inferredLR.get(startIdx).contains(endIdx);
+		return inferredLR.contains(startIdx, endIdx);
 	}
 	
 	/**
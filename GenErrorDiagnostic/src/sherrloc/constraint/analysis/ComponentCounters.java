@@ -0,0 +1,68 @@
+package sherrloc.constraint.analysis;
+
+import java.util.Arrays;
+
+/**
+ * Components of join (meet) elements that are known to flow into (from) a
+ * candidate node. Each tracked pair of a candidate and a join (meet) node has a
+ * bitmask over the distinct components of the element, and the number of
+ * components that are not satisfied yet, so that the LEQ edge on the join
+ * (meet) node can be inferred as soon as the last component is satisfied,
+ * without checking all components again (see
+ * {@link ShortestPathFinder#tryAddingExtraEdges}).
+ * <p>
+ * Pairs are stored in the direction of the LEQ edge to be inferred: from a
+ * join node to the candidate, or from the candidate to a meet node.
+ */
+class ComponentCounters extends PairIndex {
+	/** satisfied components of each pair */
+	private long[][] satisfied;
+	/** number of unsatisfied components of each pair */
+	private int[] missing;
+
+	public ComponentCounters() {
+		satisfied = new long[INITIAL_SLOTS][];
+		missing = new int[INITIAL_SLOTS];
+	}
+
+	@Override
+	protected void growSlots(int capacity) {
+		satisfied = Arrays.copyOf(satisfied, capacity);
+		missing = Arrays.copyOf(missing, capacity);
+	}
+
+	/**
+	 * Start tracking the pair <code>from, to</code>
+	 *
+	 * @param components
+	 *            Number of distinct components of the join (meet) element
+	 * @return The slot of the pair
+	 */
+	public int track(int from, int to, int components) {
+		int slot = add(from, to);
+		satisfied[slot] = new long[(components + 63) >>> 6];
+		missing[slot] = components;
+		return slot;
+	}
+
+	/**
+	 * Mark the component at <code>position</code> of the pair in
+	 * <code>slot</code> as satisfied
+	 */
+	public void satisfy(int slot, int position) {
+		long bit = 1L << position;
+		long[] bits = satisfied[slot];
+		if ((bits[position >>> 6] & bit) == 0) {
+			bits[position >>> 6] |= bit;
+			missing[slot]--;
+		}
+	}
+
+	/**
+	 * @return True if all components of the pair in <code>slot</code> are
+	 *         satisfied
+	 */
+	public boolean isComplete(int slot) {
+		return missing[slot] == 0;
+	}
+}
@@ -0,0 +1,127 @@
+package sherrloc.constraint.analysis;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import sherrloc.graph.CondensedGraph;
+import sherrloc.graph.ConstraintGraph;
+import sherrloc.graph.Edge;
+import sherrloc.graph.Node;
+
+/**
+ * A path finder on a constraint graph where equal variables are merged (see
+ * {@link CondensedGraph}). Queries on the original graph are answered by a
+ * path finder that saturates the condensed graph, and the returned paths are
+ * expanded to paths in the original graph: each edge is replaced by the edge
+ * it comes from, and the edges inside a class of equal variables are inserted
+ * where a path enters a class at one variable and leaves at another.
+ */
+public class CondensedPathFinder implements PathFinder {
+	private final CondensedGraph graph;
+	private final PathFinder finder;
+
+	/**
+	 * @param graph
+	 *            A condensed graph
+	 * @param finder
+	 *            A path finder that saturates <code>graph</code>
+	 */
+	public CondensedPathFinder(CondensedGraph graph, PathFinder finder) {
+		this.graph = graph;
+		this.finder = finder;
+		// gray nodes created during saturation are added to the original
+		// graph, so that they are tested as well
+		for (Node n : graph.getAllNodes())
+			graph.getOriginalNode(n);
+	}
+
+	/**
+	 * @return The path finder that saturates the condensed graph
+	 */
+	public PathFinder getCondensedFinder() {
+		return finder;
+	}
+
+	@Override
+	public ConstraintGraph getGraph() {
+		return graph.getOriginal();
+	}
+
+	@Override
+	public List<Edge> getPath(Node start, Node end) {
+		Node from = graph.getCondensedNode(start), to = graph.getCondensedNode(end);
+		if (from == to)
+			return graph.getInnerPath(start, end);
+		return graph.expandPath(finder.getPath(from, to), start, end);
+	}
+
+	@Override
+	public boolean hasLeqEdge(Node from, Node end) {
+		Node cFrom = graph.getCondensedNode(from), cEnd = graph.getCondensedNode(end);
+		if (cFrom == cEnd && graph.isMerged(from))
+			return true;
+		return finder.hasLeqEdge(cFrom, cEnd);
+	}
+
+	@Override
+	public int leqEdgeLength(Node from, Node end) {
+		Node cFrom = graph.getCondensedNode(from), cEnd = graph.getCondensedNode(end);
+		if (cFrom == cEnd && graph.isMerged(from))
+			return graph.getInnerPath(from, end).size();
+		return finder.leqEdgeLength(cFrom, cEnd);
+	}
+
+	@Override
+	public Set<Node> getFlowsTo(Node from) {
+		Set<Node> ret = new HashSet<Node>();
+		Node cFrom = graph.getCondensedNode(from);
+		if (graph.isMerged(from))
+			ret.addAll(graph.getMembers(cFrom));
+		for (Node n : finder.getFlowsTo(cFrom))
+			ret.addAll(graph.getMembers(n));
+		return ret;
+	}
+
+	@Override
+	public Iterator<Node> getInferredSuccessors(Node from) {
+		List<Node> ret = new ArrayList<Node>();
+		Node cFrom = graph.getCondensedNode(from);
+		// members of a merged class flow into each other
+		if (graph.isMerged(from)) {
+			for (Node m : graph.getMembers(cFrom)) {
+				if (m != from)
+					ret.add(m);
+			}
+		}
+		for (Iterator<Node> it = finder.getInferredSuccessors(cFrom); it.hasNext();)
+			ret.addAll(graph.getMembers(it.next()));
+		return ret.iterator();
+	}
+
+	@Override
+	public Set<Node> getFlowsFrom(Node to) {
+		Set<Node> ret = new HashSet<Node>();
+		Node cTo = graph.getCondensedNode(to);
+		if (graph.isMerged(to))
+			ret.addAll(graph.getMembers(cTo));
+		for (Node n : finder.getFlowsFrom(cTo))
+			ret.addAll(graph.getMembers(n));
+		return ret;
+	}
+
+	@Override
+	public boolean hasLeftEdge(Node from, Node end) {
+		return finder.hasLeftEdge(graph.getCondensedNode(from), graph.getCondensedNode(end));
+	}
+
+	@Override
+	public List<List<Edge>> getLeftPaths(Node start, Node end) {
+		List<List<Edge>> ret = new ArrayList<List<Edge>>();
+		for (List<Edge> path : finder.getLeftPaths(graph.getCondensedNode(start), graph.getCondensedNode(end)))
+			ret.add(graph.expandPath(path, start, end));
+		return ret;
+	}
+}
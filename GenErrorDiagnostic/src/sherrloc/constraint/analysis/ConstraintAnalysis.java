@@ -1,5 +1,8 @@
 package sherrloc.constraint.analysis;
 
+import java.util.Collection;
+
+import sherrloc.constraint.ast.Constraint;
 import sherrloc.diagnostic.UnsatPaths;
 import sherrloc.graph.ConstraintGraph;
 
@@ -22,4 +25,20 @@ public interface ConstraintAnalysis {
 	 * @return Identified unsatisfiable paths
 	 */
 	public UnsatPaths genErrorPaths(ConstraintGraph graph);
+	
+	/**
+	 * Add constraints to a constraint graph that has been analyzed by
+	 * {@link #genErrorPaths(ConstraintGraph)}, and identify the unsatisfiable
+	 * paths that appear due to the new constraints. Only the consequences of
+	 * the new constraints are inferred and tested. The information of #
+	 * satisfiable paths is updated for new paths only
+	 * 
+	 * @param graph
+	 *            A constraint graph that has been analyzed
+	 * @param constraints
+	 *            Constraints to be added
+	 * 
+	 * @return Unsatisfiable paths that appear due to the new constraints
+	 */
+	public UnsatPaths addConstraints(ConstraintGraph graph, Collection<Constraint> constraints);
 }
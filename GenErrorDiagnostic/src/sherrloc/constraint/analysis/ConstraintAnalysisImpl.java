@@ -1,8 +1,10 @@
 package sherrloc.constraint.analysis;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -20,12 +22,16 @@ import sherrloc.constraint.ast.MeetElement;
 import sherrloc.constraint.ast.Relation;
 import sherrloc.constraint.ast.Variable;
 import sherrloc.diagnostic.UnsatPaths;
+import sherrloc.graph.CondensedGraph;
 import sherrloc.graph.ConstraintEdge;
 import sherrloc.graph.ConstraintGraph;
 import sherrloc.graph.ConstraintPath;
 import sherrloc.graph.DummyEdge;
 import sherrloc.graph.Edge;
+import sherrloc.graph.LeftEdge;
+import sherrloc.graph.LeqEdge;
 import sherrloc.graph.Node;
+import sherrloc.graph.ReductionEdge;
 import sherrloc.graph.Variance;
 
 /**
@@ -36,9 +42,13 @@ public class ConstraintAnalysisImpl implements ConstraintAnalysis {
 	private boolean isVerbose;
 	private boolean isRec;
 	private boolean isGenHypo;
+	private int nThreads;
+	private ResourceBudget budget;
 	private boolean DEBUG = false;
 	private boolean PASSIVE = false;
 	private int expansion_time = 0;
+	/** the saturated graph of the last analysis, which is reused when constraints are added */
+	private ShortestPathFinder lastFinder = null;
 	
 	private Map<Element, Set<Element>> testedL = new HashMap<Element, Set<Element>>();
 	private Map<Element, Set<Element>> testedR = new HashMap<Element, Set<Element>>();
@@ -54,23 +64,104 @@ public class ConstraintAnalysisImpl implements ConstraintAnalysis {
 	 *            True if recursion is allowed
 	 */
 	public ConstraintAnalysisImpl(boolean isGenHypo, boolean isVerbose, boolean isRec) {
+		this(isGenHypo, isVerbose, isRec, 1);
+	}
+	
+	/**
+	 * @param isHypo
+	 *            True if SHErrLoc is inferring missing hypothesis
+	 * @param isVerbose
+	 *            True to collect data for evaluation
+	 * @param isRec
+	 *            True if recursion is allowed
+	 * @param nThreads
+	 *            Number of threads used to saturate the constraint graph
+	 */
+	public ConstraintAnalysisImpl(boolean isGenHypo, boolean isVerbose, boolean isRec, int nThreads) {
+		this(isGenHypo, isVerbose, isRec, nThreads, ResourceBudget.unlimited());
+	}
+	
+	/**
+	 * @param isHypo
+	 *            True if SHErrLoc is inferring missing hypothesis
+	 * @param isVerbose
+	 *            True to collect data for evaluation
+	 * @param isRec
+	 *            True if recursion is allowed
+	 * @param nThreads
+	 *            Number of threads used to saturate the constraint graph
+	 * @param budget
+	 *            Limits on the analysis. When the budget is exhausted, the
+	 *            unsatisfiable paths identified so far are returned, and are
+	 *            marked as partial
+	 */
+	public ConstraintAnalysisImpl(boolean isGenHypo, boolean isVerbose, boolean isRec, int nThreads, ResourceBudget budget) {
 		this.isGenHypo = isGenHypo;
 		this.isVerbose = isVerbose;
 		this.isRec = isRec;
+		this.nThreads = nThreads;
+		this.budget = budget;
 	}
 
 	/**
-	 * Return an instance of constraint analysis. Currently, the only analysis
-	 * implemented is {@link ShortestPathFinder}
+	 * Return an instance of constraint analysis. Equal variables are merged
+	 * before saturation when there are any (see {@link CondensedGraph}), and
+	 * the condensed graph is saturated by the algorithm returned by
+	 * {@link #getSaturation(ConstraintGraph)}
 	 * 
 	 * @return An constraint analysis algorithm
 	 */
 	private PathFinder getPathFinder(ConstraintGraph graph) {
-		return new ShortestPathFinder(graph, isVerbose, false);
+		CondensedGraph condensed = new CondensedGraph(graph);
+		if (condensed.getAllNodes().size() == graph.getAllNodes().size())
+			return getSaturation(graph);
+		if (isVerbose)
+			System.out.println("condensed_graph_size: " + condensed.getAllNodes().size());
+		return new CondensedPathFinder(condensed, getSaturation(condensed));
+	}
+
+	/**
+	 * Return a saturation algorithm: a {@link BitSetPathFinder} when the graph
+	 * only has partial orderings on joins, meets and atoms, a
+	 * {@link ParallelShortestPathFinder} when more than one thread is allowed,
+	 * and a {@link ShortestPathFinder} that only infers edges from the nodes
+	 * returned by {@link #getSources(ConstraintGraph)} otherwise
+	 */
+	private PathFinder getSaturation(ConstraintGraph graph) {
+		if (BitSetPathFinder.isApplicable(graph))
+			return new BitSetPathFinder(graph, isVerbose);
+		if (nThreads > 1)
+			return new ParallelShortestPathFinder(graph, isVerbose, false, nThreads, budget);
+		return new ShortestPathFinder(graph, isVerbose, getSources(graph), budget);
+	}
+	
+	/**
+	 * Return the start nodes of the partial orderings used in error
+	 * diagnosis. A path is only tested when neither end is trivial (see
+	 * {@link Element#trivialEnd()}), except that the skolem check fails on a
+	 * variable and a skolem constructor, and LEFT edges from the components of
+	 * an application are used to detect recursive types
+	 * 
+	 * @return Nodes where the partial orderings of interest start
+	 */
+	private List<Node> getSources(ConstraintGraph graph) {
+		boolean hasSkolem = false;
+		for (Node n : graph.getAllNodes()) {
+			if (n.getElement().getSkolemLevel() > 0)
+				hasSkolem = true;
+		}
+		List<Node> ret = new ArrayList<Node>();
+		for (Node n : graph.getAllNodes()) {
+			Element e = n.getElement();
+			if (!e.trivialEnd() || e instanceof Application || (hasSkolem && e instanceof Variable))
+				ret.add(n);
+		}
+		return ret;
 	}
 
 	@Override
 	public UnsatPaths genErrorPaths(ConstraintGraph graph) {
+		lastFinder = null;
 		UnsatPaths unsatPaths = new UnsatPaths();
 		
 		if (isVerbose)
@@ -81,38 +172,19 @@ public class ConstraintAnalysisImpl implements ConstraintAnalysis {
 
 		if (!isRec) {
 		for (Node node : graph.getAllNodes()) {
+			if (budget.isExhausted())
+				break;
 			// when recursion is not allowed, constraints such as "x = list x" is unsatisfiable
 			if (finder.hasLeftEdge(node, node)) {
-				List<List<Edge>> paths = finder.getLeftPaths(node, node);
-				for (List<Edge> l : paths) {
-					ConstraintPath path = new ConstraintPath(l, finder, graph.getEnv());
-					unsatPaths.addUnsatPath(path);
-					if (DEBUG) {
-						System.out.println("****** Infinite path ******");
-						System.out.println(path);
-					}
-				}
+				for (List<Edge> l : finder.getLeftPaths(node, node))
+					addInfinitePath(l, finder, graph, unsatPaths);
 				continue;
 			}
 			// go one step ahead
 			else {
 				for (Node m : graph.getAllNodes()) {
-					if (finder.hasLeftEdge(node, m) && finder.hasLeftEdge(m, node)) {
-						List<List<Edge>> paths = finder.getLeftPaths(node, m);
-						for (List<Edge> l1 : paths) {
-							for (List<Edge> l2 : finder.getLeftPaths(m, node)) {
-								List<Edge> lst = new ArrayList<Edge>();
-								lst.addAll(l1);
-								lst.addAll(l2);
-								ConstraintPath path = new ConstraintPath(lst, finder, graph.getEnv());
-								unsatPaths.addUnsatPath(path);
-								if (DEBUG) {
-									System.out.println("****** Infinite path ******");
-									System.out.println(path);
-								}
-							}
-						}
-					}
+					if (finder.hasLeftEdge(node, m) && finder.hasLeftEdge(m, node))
+						addInfiniteCycles(node, m, finder, graph, unsatPaths);
 				}
 			}
 			// TODO: need to generalize the algorithm to more general cases
@@ -148,71 +220,191 @@ public class ConstraintAnalysisImpl implements ConstraintAnalysis {
 			}
 		}
 		
-		Set<Node> allNodes = new HashSet<Node>(graph.getAllNodes());
-		for (Node start : allNodes) {
-			for (Node end : allNodes) {
-				// avoid returning duplicated edges when only equalities are used
-				if (start.getIndex() <= end.getIndex())
+		// only pairs of nodes related by an inferred LEQ edge may be
+		// unsatisfiable, so pairs are enumerated from inferred edges rather than
+		// from all pairs of nodes
+		PairIndex tested = new PairIndex();
+		for (Node from : graph.getAllNodes()) {
+			if (budget.isExhausted())
+				break;
+			for (Iterator<Node> it = finder.getInferredSuccessors(from); it.hasNext();) {
+				Node to = it.next();
+				// both directions are tested on the node with a larger index,
+				// which avoids returning duplicated edges when only equalities
+				// are used
+				Node start = from.getIndex() > to.getIndex() ? from : to;
+				Node end = start == from ? to : from;
+				// no path is reported when both ends are trivial (see testConsistency)
+				if (start.getElement().trivialEnd() && end.getElement().trivialEnd()
+						&& skolemCheck(start.getElement(), end.getElement()))
+					continue;
+				if (tested.contains(start.getIndex(), end.getIndex()))
 					continue;
+				tested.add(start.getIndex(), end.getIndex());
+				testPair(start, end, true, true, finder, graph, unsatPaths);
+			}
+		}
+		
+		if (isVerbose)
+			System.out.println("expansion_time: " + expansion_time);
+		unsatPaths.setPartial(budget.isExhausted());
 
-				// the test on the other direction can be avoided if
-				// 1) not inferring missing hypothesis
-				// 2) all constraints along the path are equalities
-				boolean needtest = true;
-				
-				// test if a partial ordering can be inferred
-				if (!(start.getElement() instanceof JoinElement) && !(end.getElement() instanceof MeetElement) && finder.hasLeqEdge(start, end)) {
-					List<Edge> l = finder.getPath(start, end);
-					System.out.println("Comparing "+ start.getElement()+"-->"+end.getElement());
-					if (skolemCheck(start.getElement(), end.getElement()))
-						testConsistency(start.getElement(), end.getElement(), l, graph, finder, unsatPaths, false);
-					else {
-						ConstraintPath path = new ConstraintPath(l, finder, graph.getEnv());
-						unsatPaths.addUnsatPath(path);
-						if (DEBUG) {
-							System.out.println("****** Skolem check fails ******");
-							System.out.println(path);
-						}
-					}
-				
-					if (!isGenHypo) {
-						boolean allEQ = false;
-						for (Edge edge : l) {
-							if (edge instanceof ConstraintEdge) {
-								Constraint cons = ((ConstraintEdge)edge).getConstraint();
-								if (cons.getRelation() == Relation.EQ) {
-									allEQ = true;
-								}
-								else {
-									allEQ = false;
-									break;
-								}
-							}
-						}
-						needtest = !allEQ;
+		// only a ShortestPathFinder can saturate the graph incrementally, and
+		// a partially saturated graph is not reused
+		if (finder instanceof ShortestPathFinder && !unsatPaths.isPartial())
+			lastFinder = (ShortestPathFinder) finder;
+		return unsatPaths;
+	}
+	
+	@Override
+	public UnsatPaths addConstraints(ConstraintGraph graph, Collection<Constraint> constraints) {
+		if (lastFinder == null || lastFinder.getGraph() != graph) {
+			graph.addConstraints(constraints);
+			return genErrorPaths(graph);
+		}
+		
+		UnsatPaths unsatPaths = new UnsatPaths();
+		ShortestPathFinder finder = lastFinder;
+		List<ReductionEdge> newEdges = finder.addEdges(graph.addConstraints(constraints));
+		
+		Map<Node, Set<Node>> newLeq = new HashMap<Node, Set<Node>>();
+		for (ReductionEdge edge : newEdges) {
+			if (edge instanceof LeqEdge) {
+				if (!newLeq.containsKey(edge.getFrom()))
+					newLeq.put(edge.getFrom(), new HashSet<Node>());
+				newLeq.get(edge.getFrom()).add(edge.getTo());
+			}
+		}
+		
+		for (ReductionEdge edge : newEdges) {
+			Node from = edge.getFrom(), to = edge.getTo();
+			if (edge instanceof LeqEdge) {
+				// both directions are tested together, as in genErrorPaths
+				Node start = from.getIndex() > to.getIndex() ? from : to;
+				Node end = from.getIndex() > to.getIndex() ? to : from;
+				boolean forward = newLeq.containsKey(start) && newLeq.get(start).contains(end);
+				boolean backward = newLeq.containsKey(end) && newLeq.get(end).contains(start);
+				if (backward && forward && start == from)
+					continue;
+				testPair(start, end, forward, backward, finder, graph, unsatPaths);
+			}
+			else if (!isRec && edge instanceof LeftEdge) {
+				if (from.equals(to)) {
+					for (List<Edge> l : finder.getLeftPaths(from, from))
+						addInfinitePath(l, finder, graph, unsatPaths);
+				}
+				else if (finder.hasLeftEdge(to, from)) {
+					if (!finder.hasLeftEdge(from, from))
+						addInfiniteCycles(from, to, finder, graph, unsatPaths);
+					if (!finder.hasLeftEdge(to, to))
+						addInfiniteCycles(to, from, finder, graph, unsatPaths);
+				}
+			}
+		}
+		unsatPaths.setPartial(budget.isExhausted());
+		if (unsatPaths.isPartial())
+			lastFinder = null;
+		return unsatPaths;
+	}
+	
+	/**
+	 * Add an unsatisfiable path where a LEFT edge forms a cycle, which is
+	 * unsatisfiable when recursion is not allowed
+	 */
+	private void addInfinitePath(List<Edge> l, PathFinder finder, ConstraintGraph graph, UnsatPaths unsatPaths) {
+		ConstraintPath path = new ConstraintPath(l, finder, graph.getEnv());
+		unsatPaths.addUnsatPath(path);
+		if (DEBUG) {
+			System.out.println("****** Infinite path ******");
+			System.out.println(path);
+		}
+	}
+	
+	/**
+	 * Add unsatisfiable paths on the cycles formed by LEFT edges from
+	 * <code>node</code> to <code>m</code> and back
+	 */
+	private void addInfiniteCycles(Node node, Node m, PathFinder finder, ConstraintGraph graph, UnsatPaths unsatPaths) {
+		List<List<Edge>> paths = finder.getLeftPaths(node, m);
+		for (List<Edge> l1 : paths) {
+			for (List<Edge> l2 : finder.getLeftPaths(m, node)) {
+				List<Edge> lst = new ArrayList<Edge>();
+				lst.addAll(l1);
+				lst.addAll(l2);
+				addInfinitePath(lst, finder, graph, unsatPaths);
+			}
+		}
+	}
+	
+	/**
+	 * Test the partial orderings between two nodes
+	 * 
+	 * @param start
+	 *            The node with a larger index
+	 * @param end
+	 *            The node with a smaller index
+	 * @param forward
+	 *            True to test a partial ordering from <code>start</code> to
+	 *            <code>end</code>
+	 * @param backward
+	 *            True to test a partial ordering from <code>end</code> to
+	 *            <code>start</code>, unless all constraints along the path from
+	 *            <code>start</code> to <code>end</code> are equalities
+	 */
+	private void testPair(Node start, Node end, boolean forward, boolean backward, PathFinder finder, ConstraintGraph graph, UnsatPaths unsatPaths) {
+		// the test on the other direction can be avoided if
+		// 1) not inferring missing hypothesis
+		// 2) all constraints along the path are equalities
+		boolean needtest = true;
+		
+		// test if a partial ordering can be inferred
+		if (!(start.getElement() instanceof JoinElement) && !(end.getElement() instanceof MeetElement) && finder.hasLeqEdge(start, end)) {
+			List<Edge> l = finder.getPath(start, end);
+			if (forward) {
+				System.out.println("Comparing "+ start.getElement()+"-->"+end.getElement());
+				if (skolemCheck(start.getElement(), end.getElement()))
+					testConsistency(start.getElement(), end.getElement(), l, graph, finder, unsatPaths, false);
+				else {
+					ConstraintPath path = new ConstraintPath(l, finder, graph.getEnv());
+					unsatPaths.addUnsatPath(path);
+					if (DEBUG) {
+						System.out.println("****** Skolem check fails ******");
+						System.out.println(path);
 					}
 				}
-				
-				if (needtest && !(end.getElement() instanceof JoinElement) && !(start.getElement() instanceof MeetElement) && finder.hasLeqEdge(end, start)) {
-					List<Edge> l = finder.getPath(end, start);
-					if (skolemCheck(start.getElement(), end.getElement()))
-						testConsistency(end.getElement(), start.getElement(), l, graph, finder, unsatPaths, false);
-					else {
-						ConstraintPath path = new ConstraintPath(l, finder, graph.getEnv());
-						unsatPaths.addUnsatPath(path);
-						if (DEBUG) {
-							System.out.println("****** Skolem check fails ******");
-							System.out.println(path);
+			}
+		
+			if (!isGenHypo) {
+				boolean allEQ = false;
+				for (Edge edge : l) {
+					if (edge instanceof ConstraintEdge) {
+						Constraint cons = ((ConstraintEdge)edge).getConstraint();
+						if (cons.getRelation() == Relation.EQ) {
+							allEQ = true;
+						}
+						else {
+							allEQ = false;
+							break;
 						}
 					}
 				}
+				needtest = !allEQ;
 			}
 		}
 		
-		if (isVerbose)
-			System.out.println("expansion_time: " + expansion_time);
-
-		return unsatPaths;
+		if (backward && needtest && !(end.getElement() instanceof JoinElement) && !(start.getElement() instanceof MeetElement) && finder.hasLeqEdge(end, start)) {
+			List<Edge> l = finder.getPath(end, start);
+			if (skolemCheck(start.getElement(), end.getElement()))
+				testConsistency(end.getElement(), start.getElement(), l, graph, finder, unsatPaths, false);
+			else {
+				ConstraintPath path = new ConstraintPath(l, finder, graph.getEnv());
+				unsatPaths.addUnsatPath(path);
+				if (DEBUG) {
+					System.out.println("****** Skolem check fails ******");
+					System.out.println(path);
+				}
+			}
+		}
 	}
 	
 	/**
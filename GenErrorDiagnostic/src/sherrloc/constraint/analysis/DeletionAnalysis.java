@@ -0,0 +1,483 @@
+package sherrloc.constraint.analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import sherrloc.constraint.ast.Application;
+import sherrloc.constraint.ast.Constructor;
+import sherrloc.constraint.ast.ConstructorApplication;
+import sherrloc.constraint.ast.Element;
+import sherrloc.constraint.ast.FunctionApplication;
+import sherrloc.constraint.ast.JoinElement;
+import sherrloc.constraint.ast.MeetElement;
+import sherrloc.graph.ConstraintEdge;
+import sherrloc.graph.ConstraintGraph;
+import sherrloc.graph.ConstraintPath;
+import sherrloc.graph.ConstructorEdge;
+import sherrloc.graph.Edge;
+import sherrloc.graph.EdgeCondition;
+import sherrloc.graph.JoinEdge;
+import sherrloc.graph.LeqCondition;
+import sherrloc.graph.LeqRevCondition;
+import sherrloc.graph.MeetEdge;
+import sherrloc.graph.Node;
+import sherrloc.graph.RightEdge;
+import sherrloc.graph.Variance;
+
+/**
+ * Evaluate the consequences of removing edges and nodes from a graph saturated
+ * by a {@link ShortestPathFinder}, without saturating the graph again.
+ * <p>
+ * The evidences recorded for inferred edges form a derivation of each edge.
+ * When graph edges are removed, all inferred edges whose derivations use a
+ * removed edge are deleted first. A deleted edge that can still be derived
+ * from the remaining edges by one reduction rule is restored then, until no
+ * more edges can be restored (the "delete and rederive" algorithm for
+ * maintaining recursive views). Edges inferred by axioms are only restored by
+ * their recorded premises.
+ * <p>
+ * The analysis works on a snapshot of the saturated graph: create a new one
+ * after {@link ShortestPathFinder#addEdges(List)}
+ */
+public class DeletionAnalysis {
+	private final ShortestPathFinder finder;
+	private final ConstraintGraph g;
+	private final DistanceTable leqTable;
+	private final LabeledDistanceTable leftTable;
+
+	/**
+	 * Inferred edges are numbered as follows: LEQ edges by their slots in
+	 * leqTable, LEFT edges by leftBase plus their entries in leftTable, and
+	 * node pairs with RIGHT edges by rightBase plus their slots in rightPath
+	 */
+	private final int leftBase, rightBase;
+	/** end nodes of LEFT entries */
+	private final int[] leftFrom, leftTo;
+	/** edges whose evidences use an edge, indexed by the number of the used edge */
+	private final int[][] dependents;
+	private final int[] dependentCount;
+
+	/** the last removal */
+	private Set<Edge> removedEdges = new HashSet<Edge>();
+	private Set<Node> removedNodes = new HashSet<Node>();
+	private BitSet deleted = new BitSet();
+
+	/**
+	 * @param finder
+	 *            A path finder that contains a saturated graph
+	 */
+	public DeletionAnalysis(ShortestPathFinder finder) {
+		this.finder = finder;
+		g = finder.getGraph();
+		leqTable = finder.getLeqTable();
+		leftTable = finder.getLeftTable();
+		leftBase = leqTable.size();
+		rightBase = leftBase + leftTable.getEntryCount();
+		int size = rightBase + finder.rightPath.size();
+
+		leftFrom = new int[leftTable.getEntryCount()];
+		leftTo = new int[leftTable.getEntryCount()];
+		for (int slot = 0; slot < leftTable.size(); slot++) {
+			int from = leftTable.getFrom(slot), to = leftTable.getTo(slot);
+			for (int e = leftTable.getFirstEntry(from, to); e >= 0; e = leftTable.getNextEntry(e)) {
+				leftFrom[e] = from;
+				leftTo[e] = to;
+			}
+		}
+
+		dependents = new int[size][];
+		dependentCount = new int[size];
+		EvidenceStore evidences = finder.nextHop;
+		for (int entry = 0; entry < evidences.getEntryCount(); entry++) {
+			int id = getId(evidences.getEntryFrom(entry), evidences.getEntryTo(entry), evidences.getCondition(entry));
+			if (id < 0)
+				continue;
+			for (int i = 0; i < evidences.getEvidenceCount(entry); i++) {
+				int used = getId(evidences.getEvidenceFrom(entry, i), evidences.getEvidenceTo(entry, i), evidences.getEvidenceCondition(entry, i));
+				if (used >= 0)
+					addDependent(used, id);
+			}
+		}
+	}
+
+	/**
+	 * @return The number of an inferred edge, or -1 if the edge is not
+	 *         inferred
+	 */
+	private int getId(int from, int to, EdgeCondition ec) {
+		if (ec instanceof LeqRevCondition)
+			return leqTable.find(to, from);
+		else if (ec instanceof LeqCondition)
+			return leqTable.find(from, to);
+		else if (ec.isReverse()) {
+			int slot = finder.rightPath.find(from, to);
+			return slot < 0 ? -1 : rightBase + slot;
+		} else {
+			int lbl = finder.getLeftConditionId(ec);
+			int e = lbl < 0 ? -1 : leftTable.findEntry(from, to, lbl);
+			return e < 0 ? -1 : leftBase + e;
+		}
+	}
+
+	private void addDependent(int used, int id) {
+		int count = dependentCount[used];
+		if (dependents[used] == null)
+			dependents[used] = new int[2];
+		else if (count == dependents[used].length)
+			dependents[used] = Arrays.copyOf(dependents[used], count * 2);
+		dependents[used][count] = id;
+		dependentCount[used] = count + 1;
+	}
+
+	/**
+	 * Remove edges and nodes from the saturated graph, and compute the edges
+	 * that can still be derived. Removals are not accumulated: each call
+	 * starts from the saturated graph
+	 *
+	 * @param edges
+	 *            Graph edges to be removed
+	 * @param nodes
+	 *            Graph nodes to be removed, along with all edges on them
+	 */
+	public void remove(Collection<Edge> edges, Collection<Node> nodes) {
+		removedEdges = new HashSet<Edge>(edges);
+		removedNodes = new HashSet<Node>(nodes);
+		deleted.clear();
+
+		// delete edges that are no longer supported by the graph, as well as
+		// all edges on removed nodes
+		List<Integer> worklist = new ArrayList<Integer>();
+		for (Edge edge : removedEdges) {
+			EdgeCondition ec = getCondition(edge);
+			if (ec == null || edge.getFrom().equals(edge.getTo()))
+				continue;
+			int id = getId(edge.getFrom().getIndex(), edge.getTo().getIndex(), ec);
+			if (id < 0)
+				continue;
+			// an edge with evidences is derived without the removed edge
+			int entry = finder.nextHop.find(edge.getFrom().getIndex(), edge.getTo().getIndex(), ec);
+			if (id < rightBase && entry >= 0 && finder.nextHop.getEvidenceCount(entry) > 0)
+				continue;
+			if (!hasSupport(edge.getFrom(), edge.getTo(), ec))
+				delete(id, worklist);
+		}
+		for (Node n : removedNodes)
+			deleteAdjacent(n.getIndex(), worklist);
+
+		// delete all edges whose derivations use a deleted edge
+		while (!worklist.isEmpty()) {
+			int id = worklist.remove(worklist.size() - 1);
+			for (int i = 0; i < dependentCount[id]; i++)
+				delete(dependents[id][i], worklist);
+		}
+
+		// restore deleted edges that can be derived from the remaining edges.
+		// RIGHT edges are not inferred, so they are never restored
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (int id = deleted.nextSetBit(0); id >= 0 && id < rightBase; id = deleted.nextSetBit(id + 1)) {
+				if (id < leftBase ? isLeqDerivable(id) : isLeftDerivable(id - leftBase)) {
+					deleted.clear(id);
+					changed = true;
+				}
+			}
+		}
+	}
+
+	private void delete(int id, List<Integer> worklist) {
+		if (!deleted.get(id)) {
+			deleted.set(id);
+			worklist.add(id);
+		}
+	}
+
+	/**
+	 * Delete all inferred edges starting from, or ending at node
+	 * <code>idx</code>
+	 */
+	private void deleteAdjacent(int idx, List<Integer> worklist) {
+		int[] succs = leqTable.getSuccessors(idx);
+		for (int i = 0; i < leqTable.getSuccessorCount(idx); i++)
+			delete(leqTable.find(idx, succs[i]), worklist);
+		int[] preds = leqTable.getPredecessors(idx);
+		for (int i = 0; i < leqTable.getPredecessorCount(idx); i++)
+			delete(leqTable.find(preds[i], idx), worklist);
+
+		succs = leftTable.getSuccessors(idx);
+		for (int i = 0; i < leftTable.getSuccessorCount(idx); i++) {
+			for (int e = leftTable.getFirstEntry(idx, succs[i]); e >= 0; e = leftTable.getNextEntry(e))
+				delete(leftBase + e, worklist);
+		}
+		preds = leftTable.getPredecessors(idx);
+		for (int i = 0; i < leftTable.getPredecessorCount(idx); i++) {
+			for (int e = leftTable.getFirstEntry(preds[i], idx); e >= 0; e = leftTable.getNextEntry(e))
+				delete(leftBase + e, worklist);
+		}
+
+		PairIndex rightPath = finder.rightPath;
+		succs = rightPath.getSuccessors(idx);
+		for (int i = 0; i < rightPath.getSuccessorCount(idx); i++)
+			delete(rightBase + rightPath.find(idx, succs[i]), worklist);
+		preds = rightPath.getPredecessors(idx);
+		for (int i = 0; i < rightPath.getPredecessorCount(idx); i++)
+			delete(rightBase + rightPath.find(preds[i], idx), worklist);
+	}
+
+	/**
+	 * @return The condition of the edge that a graph edge is converted into
+	 *         (see {@link CFLPathFinder#initialize(List)}), or null if the
+	 *         edge is not converted
+	 */
+	private EdgeCondition getCondition(Edge edge) {
+		if (edge instanceof ConstraintEdge || edge instanceof MeetEdge || edge instanceof JoinEdge)
+			return LeqCondition.getInstance();
+		else if (edge instanceof ConstructorEdge)
+			return ((ConstructorEdge) edge).getCondition();
+		else
+			return null;
+	}
+
+	/**
+	 * @return True if a graph edge that is not removed is converted into an
+	 *         edge of condition <code>ec</code> on <code>from, to</code>
+	 */
+	private boolean hasSupport(Node from, Node to, EdgeCondition ec) {
+		if (removedNodes.contains(from) || removedNodes.contains(to))
+			return false;
+		for (Edge edge : g.getEdges(from, to)) {
+			if (!removedEdges.contains(edge) && ec.equals(getCondition(edge)))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return True if an inferred LEQ edge from node <code>from</code> to
+	 *         <code>to</code> is not deleted
+	 */
+	private boolean isInferredLeq(int from, int to) {
+		int slot = leqTable.find(from, to);
+		return slot >= 0 && !deleted.get(slot);
+	}
+
+	/**
+	 * @return True if a LEFT edge labeled by <code>lbl</code> on
+	 *         <code>from, to</code> is not deleted
+	 */
+	private boolean isInferredLeft(int from, int to, int lbl) {
+		int e = leftTable.findEntry(from, to, lbl);
+		return e >= 0 && !deleted.get(leftBase + e);
+	}
+
+	/**
+	 * @return True if <code>from</code> is still less than or equal to
+	 *         <code>to</code>, including the partial orderings that are not
+	 *         represented by edges
+	 */
+	private boolean isLeq(Node from, Node to) {
+		if (removedNodes.contains(from) || removedNodes.contains(to))
+			return false;
+		if (from.getElement().isBottom() || to.getElement().isTop() || from.getElement().equals(to.getElement()))
+			return true;
+		return isInferredLeq(from.getIndex(), to.getIndex());
+	}
+
+	private boolean isLeq(Element e1, Element e2) {
+		if (e1.equals(e2))
+			return true;
+		if (!g.hasElement(e1) || !g.hasElement(e2))
+			return false;
+		return isLeq(g.getNode(e1), g.getNode(e2));
+	}
+
+	/**
+	 * @return True if the deleted LEQ edge in <code>slot</code> can be derived
+	 *         from the remaining edges by one reduction rule
+	 */
+	private boolean isLeqDerivable(int slot) {
+		int fIndex = leqTable.getFrom(slot), tIndex = leqTable.getTo(slot);
+		Node from = g.getNode(fIndex), to = g.getNode(tIndex);
+		if (removedNodes.contains(from) || removedNodes.contains(to))
+			return false;
+		if (hasSupport(from, to, LeqCondition.getInstance()))
+			return true;
+
+		// LEQ ::= LEQ LEQ
+		int[] succs = leqTable.getSuccessors(fIndex);
+		for (int i = 0; i < leqTable.getSuccessorCount(fIndex); i++) {
+			if (succs[i] != tIndex && isInferredLeq(fIndex, succs[i]) && isInferredLeq(succs[i], tIndex))
+				return true;
+		}
+
+		// LEQ ::= LEFT RIGHT
+		succs = leftTable.getSuccessors(fIndex);
+		for (int i = 0; i < leftTable.getSuccessorCount(fIndex); i++) {
+			Node mid = g.getNode(succs[i]);
+			for (int e = leftTable.getFirstEntry(fIndex, succs[i]); e >= 0; e = leftTable.getNextEntry(e)) {
+				if (deleted.get(leftBase + e))
+					continue;
+				EdgeCondition ec = finder.getLeftCondition(leftTable.getLabel(e));
+				for (RightEdge re : finder.getRightEdges(mid, to)) {
+					if (ec.matches(re.cons) && hasSupport(mid, to, re.cons))
+						return true;
+				}
+			}
+		}
+
+		// LEQ ::= RIGHT LEFT
+		succs = finder.rightPath.getSuccessors(fIndex);
+		for (int i = 0; i < finder.rightPath.getSuccessorCount(fIndex); i++) {
+			Node mid = g.getNode(succs[i]);
+			for (RightEdge re : finder.getRightEdges(from, mid)) {
+				if (!hasSupport(from, mid, re.cons))
+					continue;
+				for (int e = leftTable.getFirstEntry(succs[i], tIndex); e >= 0; e = leftTable.getNextEntry(e)) {
+					EdgeCondition ec = finder.getLeftCondition(leftTable.getLabel(e));
+					Element cons = ec.getCon();
+					if (!deleted.get(leftBase + e) && ec.matches(re.cons) && cons instanceof Constructor
+							&& ((Constructor) cons).getArity() == 1)
+						return true;
+				}
+			}
+		}
+
+		// properties of join, meet and constructors
+		Element fe = from.getElement(), te = to.getElement();
+		if (fe instanceof JoinElement && allFlowInto(((JoinElement) fe).getElements(), te))
+			return true;
+		if (te instanceof MeetElement && flowsIntoAll(fe, ((MeetElement) te).getElements()))
+			return true;
+		return isCongruent(fe, te);
+	}
+
+	private boolean allFlowInto(List<Element> elements, Element to) {
+		for (Element e : elements) {
+			if (!isLeq(e, to))
+				return false;
+		}
+		return true;
+	}
+
+	private boolean flowsIntoAll(Element from, List<Element> elements) {
+		for (Element e : elements) {
+			if (!isLeq(from, e))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @return True if <code>e1</code> and <code>e2</code> are applications of
+	 *         the same constructor (function), and the parameters are ordered
+	 *         according to the variance of the constructor (function)
+	 */
+	private boolean isCongruent(Element e1, Element e2) {
+		if (e1 instanceof ConstructorApplication && e2 instanceof ConstructorApplication) {
+			if (!((ConstructorApplication) e1).getCons().equals(((ConstructorApplication) e2).getCons()))
+				return false;
+		} else if (e1 instanceof FunctionApplication && e2 instanceof FunctionApplication) {
+			if (!((FunctionApplication) e1).getFunc().equals(((FunctionApplication) e2).getFunc()))
+				return false;
+		} else
+			return false;
+
+		Application app1 = (Application) e1, app2 = (Application) e2;
+		List<Element> params1 = app1.getElements(), params2 = app2.getElements();
+		if (params1.size() != params2.size())
+			return false;
+		Variance variance = app1.getVariance();
+		for (int i = 0; i < params1.size(); i++) {
+			if (!variance.equals(Variance.NEG) && !isLeq(params1.get(i), params2.get(i)))
+				return false;
+			if (!variance.equals(Variance.POS) && !isLeq(params2.get(i), params1.get(i)))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @return True if the deleted LEFT edge <code>entry</code> can be derived
+	 *         from the remaining edges by one reduction rule
+	 */
+	private boolean isLeftDerivable(int entry) {
+		int fIndex = leftFrom[entry], tIndex = leftTo[entry];
+		Node from = g.getNode(fIndex), to = g.getNode(tIndex);
+		if (removedNodes.contains(from) || removedNodes.contains(to))
+			return false;
+		int lbl = leftTable.getLabel(entry);
+		EdgeCondition ec = finder.getLeftCondition(lbl);
+		if (hasSupport(from, to, ec))
+			return true;
+
+		// LEFT ::= LEFT LEQ, where the reverse of LEQ is used for
+		// contravariant parameters
+		boolean useReverse = ec.getVariance() == Variance.NEG;
+		int[] succs = leftTable.getSuccessors(fIndex);
+		for (int i = 0; i < leftTable.getSuccessorCount(fIndex); i++) {
+			int mid = succs[i];
+			if (mid == tIndex || !isInferredLeft(fIndex, mid, lbl))
+				continue;
+			if (useReverse ? isInferredLeq(tIndex, mid) : isInferredLeq(mid, tIndex))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return True if <code>from</code> is still less than or equal to
+	 *         <code>to</code> after the last removal
+	 */
+	public boolean hasLeqEdge(Node from, Node to) {
+		return isLeq(from, to);
+	}
+
+	/**
+	 * @return True if a LEFT edge from <code>from</code> to <code>to</code>
+	 *         can still be derived after the last removal
+	 */
+	public boolean hasLeftEdge(Node from, Node to) {
+		if (removedNodes.contains(from) || removedNodes.contains(to))
+			return false;
+		for (int e = leftTable.getFirstEntry(from.getIndex(), to.getIndex()); e >= 0; e = leftTable.getNextEntry(e)) {
+			if (!deleted.get(leftBase + e))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Return true if the partial ordering on the end nodes of an
+	 * unsatisfiable path can still be derived after the last removal, either
+	 * from the same path or from other paths. A path whose end nodes are the
+	 * same node is an infinite type, which can be derived from a LEFT edge on
+	 * the node, or a cycle of two LEFT edges
+	 *
+	 * @param path
+	 *            A path found in the saturated graph
+	 * @return True if the error on <code>path</code> remains
+	 */
+	public boolean isDerivable(ConstraintPath path) {
+		Node first = path.getFirst(), last = path.getLast();
+		if (first == null)
+			return false;
+		if (!first.equals(last))
+			return hasLeqEdge(first, last);
+
+		if (hasLeftEdge(first, first))
+			return true;
+		int idx = first.getIndex();
+		int[] succs = leftTable.getSuccessors(idx);
+		for (int i = 0; i < leftTable.getSuccessorCount(idx); i++) {
+			Node mid = g.getNode(succs[i]);
+			if (hasLeftEdge(first, mid) && hasLeftEdge(mid, first))
+				return true;
+		}
+		return false;
+	}
+}
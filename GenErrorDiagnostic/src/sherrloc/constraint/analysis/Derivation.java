@@ -0,0 +1,47 @@
+package sherrloc.constraint.analysis;
+
+import java.util.List;
+
+import sherrloc.graph.EdgeCondition;
+import sherrloc.graph.Node;
+
+/**
+ * An edge inferred by a reduction rule, which is added to the graph once all
+ * edges of the same length are processed
+ */
+public class Derivation {
+	public Node start, end;
+	public EdgeCondition ty;
+	public int size;
+	public List<Evidence> evidence;
+	public boolean isAtomic;
+	/**
+	 * evidences of an edge derived from two edges, when evidence is null. Edge
+	 * conditions are given by their ids
+	 */
+	public Node mid;
+	public int label, first, second;
+	
+	public Derivation(Node start, Node end, EdgeCondition type, int size, List<Evidence> evidence, boolean isAtomic) {
+		this.start = start;
+		this.end = end;
+		this.ty = type;
+		this.size = size;
+		this.evidence = evidence;
+		this.isAtomic = isAtomic;
+	}
+	
+	/**
+	 * An edge derived from an edge with condition <code>first</code> from
+	 * <code>start</code> to <code>mid</code>, and an edge with condition
+	 * <code>second</code> from <code>mid</code> to <code>end</code>. The
+	 * condition <code>type</code> is numbered <code>label</code>
+	 */
+	public Derivation(Node start, Node mid, Node end, EdgeCondition type, int label, int size, int first, int second, boolean isAtomic) {
+		this(start, end, type, size, null, isAtomic);
+		this.mid = mid;
+		this.label = label;
+		this.first = first;
+		this.second = second;
+	}
+}
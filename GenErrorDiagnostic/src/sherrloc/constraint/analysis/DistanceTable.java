@@ -0,0 +1,50 @@
+package sherrloc.constraint.analysis;
+
+import java.util.Arrays;
+
+/**
+ * Lengths of the shortest derivations of LEQ edges, stored in primitive arrays
+ * indexed by the slots of a {@link PairIndex}
+ */
+public class DistanceTable extends PairIndex {
+	private int[] distance;
+	private final int infinity;
+
+	/**
+	 * @param infinity
+	 *            Value returned for pairs not in the table
+	 */
+	public DistanceTable(int infinity) {
+		this.infinity = infinity;
+		distance = new int[INITIAL_SLOTS];
+	}
+
+	@Override
+	protected void growSlots(int capacity) {
+		distance = Arrays.copyOf(distance, capacity);
+	}
+
+	/**
+	 * @return Shortest distance from <code>from</code> to <code>to</code>, or
+	 *         the infinity value when no distance is recorded
+	 */
+	public int get(int from, int to) {
+		int slot = find(from, to);
+		return slot < 0 ? infinity : distance[slot];
+	}
+
+	/**
+	 * Record the distance from <code>from</code> to <code>to</code>
+	 */
+	public void set(int from, int to, int dis) {
+		int slot = add(from, to);
+		distance[slot] = dis;
+	}
+
+	/**
+	 * @return Distance stored in <code>slot</code>
+	 */
+	public int getDistance(int slot) {
+		return distance[slot];
+	}
+}
@@ -0,0 +1,261 @@
+package sherrloc.constraint.analysis;
+
+import java.util.Arrays;
+import java.util.List;
+
+import sherrloc.graph.ConditionTable;
+import sherrloc.graph.EdgeCondition;
+
+/**
+ * Evidences of inferred edges, from which a path in the constraint graph is
+ * rebuilt (see {@link CFLPathFinder#getLeqPath}). Edges of the same node pair
+ * are chained in primitive arrays starting from the slot of the pair in a
+ * {@link PairIndex}, and each entry records how the edge is derived:
+ * <ul>
+ * <li>a graph edge has no evidence
+ * <li>an edge derived by a reduction rule has two evidences, from the start
+ * node to a middle node and from the middle node to the end node, so only the
+ * middle node and the edge conditions of both evidences are recorded
+ * <li>other edges (e.g., edges on join elements or edges inferred by axioms)
+ * have a list of evidences, which are stored in a shared pool
+ * </ul>
+ * Edge conditions are recorded by their ids in the {@link ConditionTable} of
+ * the graph.
+ */
+public class EvidenceStore extends PairIndex {
+	private static final int ATOMIC = 0, BINARY = 1, LIST = 2;
+
+	/** first entry of each pair */
+	private int[] head;
+
+	/**
+	 * entries: edge condition, the next entry of the same pair, the slot of
+	 * the pair and the kind of derivation. A binary derivation records its
+	 * middle node and the conditions of both evidences, and a list of
+	 * evidences records the offset and the number of evidences in the pool
+	 */
+	private int[] condition;
+	private int[] next;
+	private int[] pairOf;
+	private int[] kind;
+	private int[] mid;
+	private int[] first;
+	private int[] second;
+	private int entries;
+
+	/** evidences in lists: start node, end node and edge condition */
+	private int[] pool;
+	private int poolSize;
+
+	/** numbered edge conditions */
+	private final ConditionTable conditions;
+
+	/**
+	 * @param conditions
+	 *            Edge conditions of the graph whose edges are recorded
+	 */
+	public EvidenceStore(ConditionTable conditions) {
+		this.conditions = conditions;
+		head = new int[INITIAL_SLOTS];
+		condition = new int[INITIAL_SLOTS];
+		next = new int[INITIAL_SLOTS];
+		pairOf = new int[INITIAL_SLOTS];
+		kind = new int[INITIAL_SLOTS];
+		mid = new int[INITIAL_SLOTS];
+		first = new int[INITIAL_SLOTS];
+		second = new int[INITIAL_SLOTS];
+		entries = 0;
+		pool = new int[INITIAL_SLOTS * 3];
+		poolSize = 0;
+	}
+
+	@Override
+	protected void growSlots(int capacity) {
+		head = Arrays.copyOf(head, capacity);
+	}
+
+	/**
+	 * @return The entry of the edge with condition <code>ec</code> on
+	 *         <code>from, to</code>, or -1 if there is none
+	 */
+	public int find(int from, int to, EdgeCondition ec) {
+		int id = conditions.find(ec);
+		return id < 0 ? -1 : find(from, to, id);
+	}
+
+	/**
+	 * @return The entry of the edge with the condition numbered
+	 *         <code>id</code> on <code>from, to</code>, or -1 if there is none
+	 */
+	public int find(int from, int to, int id) {
+		int slot = find(from, to);
+		for (int e = slot < 0 ? -1 : head[slot]; e >= 0; e = next[e]) {
+			if (condition[e] == id)
+				return e;
+		}
+		return -1;
+	}
+
+	/**
+	 * @return True if evidences are recorded for the edge with condition
+	 *         <code>ec</code> on <code>from, to</code>
+	 */
+	public boolean contains(int from, int to, EdgeCondition ec) {
+		return find(from, to, ec) >= 0;
+	}
+
+	/**
+	 * Return the entry of an edge, which is added when the edge is not
+	 * recorded yet. Evidences of an existing entry are replaced
+	 */
+	private int getOrAdd(int from, int to, int id) {
+		int e = find(from, to, id);
+		if (e >= 0)
+			return e;
+
+		if (entries == condition.length) {
+			int capacity = entries * 2;
+			condition = Arrays.copyOf(condition, capacity);
+			next = Arrays.copyOf(next, capacity);
+			pairOf = Arrays.copyOf(pairOf, capacity);
+			kind = Arrays.copyOf(kind, capacity);
+			mid = Arrays.copyOf(mid, capacity);
+			first = Arrays.copyOf(first, capacity);
+			second = Arrays.copyOf(second, capacity);
+		}
+		e = entries++;
+		condition[e] = id;
+		next[e] = -1;
+
+		int slot = find(from, to);
+		if (slot < 0) {
+			slot = add(from, to);
+			head[slot] = e;
+		} else {
+			int last = head[slot];
+			while (next[last] >= 0)
+				last = next[last];
+			next[last] = e;
+		}
+		pairOf[e] = slot;
+		return e;
+	}
+
+	/**
+	 * Record the evidences of the edge with condition <code>ec</code> on
+	 * <code>from, to</code>
+	 */
+	public void set(int from, int to, EdgeCondition ec, List<Evidence> evidences) {
+		int e = getOrAdd(from, to, conditions.getId(ec));
+		if (evidences.isEmpty())
+			kind[e] = ATOMIC;
+		else if (evidences.size() == 2 && evidences.get(0).start.getIndex() == from
+				&& evidences.get(0).end == evidences.get(1).start && evidences.get(1).end.getIndex() == to) {
+			kind[e] = BINARY;
+			mid[e] = evidences.get(0).end.getIndex();
+			first[e] = conditions.getId(evidences.get(0).ty);
+			second[e] = conditions.getId(evidences.get(1).ty);
+		}
+		else {
+			kind[e] = LIST;
+			mid[e] = poolSize;
+			first[e] = evidences.size();
+			while (pool.length < poolSize + 3 * evidences.size())
+				pool = Arrays.copyOf(pool, pool.length * 2);
+			for (Evidence evi : evidences) {
+				pool[poolSize++] = evi.start.getIndex();
+				pool[poolSize++] = evi.end.getIndex();
+				pool[poolSize++] = conditions.getId(evi.ty);
+			}
+		}
+	}
+
+	/**
+	 * Record that the edge with condition <code>ec</code> on
+	 * <code>from, to</code> is derived from an edge with condition
+	 * <code>ec1</code> on <code>from, m</code> and an edge with condition
+	 * <code>ec2</code> on <code>m, to</code>. Conditions are given by their
+	 * ids
+	 */
+	public void set(int from, int m, int to, int ec, int ec1, int ec2) {
+		int e = getOrAdd(from, to, ec);
+		kind[e] = BINARY;
+		mid[e] = m;
+		first[e] = ec1;
+		second[e] = ec2;
+	}
+
+	/**
+	 * @return Number of entries. Entries are numbered from zero in the order
+	 *         they are added
+	 */
+	public int getEntryCount() {
+		return entries;
+	}
+
+	/**
+	 * @return Start node index of the edge of <code>entry</code>
+	 */
+	public int getEntryFrom(int entry) {
+		return getFrom(pairOf[entry]);
+	}
+
+	/**
+	 * @return End node index of the edge of <code>entry</code>
+	 */
+	public int getEntryTo(int entry) {
+		return getTo(pairOf[entry]);
+	}
+
+	/**
+	 * @return Edge condition of the edge of <code>entry</code>
+	 */
+	public EdgeCondition getCondition(int entry) {
+		return conditions.get(condition[entry]);
+	}
+
+	/**
+	 * @return Number of evidences of <code>entry</code>, which is 0 for a
+	 *         graph edge
+	 */
+	public int getEvidenceCount(int entry) {
+		switch (kind[entry]) {
+		case BINARY:
+			return 2;
+		case LIST:
+			return first[entry];
+		default:
+			return 0;
+		}
+	}
+
+	/**
+	 * @return Start node index of the <code>i</code>th evidence of
+	 *         <code>entry</code>
+	 */
+	public int getEvidenceFrom(int entry, int i) {
+		if (kind[entry] == BINARY)
+			return i == 0 ? getEntryFrom(entry) : mid[entry];
+		return pool[mid[entry] + 3 * i];
+	}
+
+	/**
+	 * @return End node index of the <code>i</code>th evidence of
+	 *         <code>entry</code>
+	 */
+	public int getEvidenceTo(int entry, int i) {
+		if (kind[entry] == BINARY)
+			return i == 0 ? mid[entry] : getEntryTo(entry);
+		return pool[mid[entry] + 3 * i + 1];
+	}
+
+	/**
+	 * @return Edge condition of the <code>i</code>th evidence of
+	 *         <code>entry</code>
+	 */
+	public EdgeCondition getEvidenceCondition(int entry, int i) {
+		if (kind[entry] == BINARY)
+			return conditions.get(i == 0 ? first[entry] : second[entry]);
+		return conditions.get(pool[mid[entry] + 3 * i + 2]);
+	}
+}
@@ -0,0 +1,143 @@
+package sherrloc.constraint.analysis;
+
+import java.util.Arrays;
+
+/**
+ * Lengths of the shortest derivations of edges that carry an integer label
+ * (e.g., LEFT edges labeled by their edge conditions). Labels of the same node
+ * pair are chained in primitive arrays starting from the slot of the pair in a
+ * {@link PairIndex}
+ */
+public class LabeledDistanceTable extends PairIndex {
+	/** first entry of each pair */
+	private int[] head;
+
+	/** entries: label, distance and the next entry of the same pair */
+	private int[] label;
+	private int[] distance;
+	private int[] next;
+	private int entries;
+
+	private final int infinity;
+
+	/**
+	 * @param infinity
+	 *            Value returned for entries not in the table
+	 */
+	public LabeledDistanceTable(int infinity) {
+		this.infinity = infinity;
+		head = new int[INITIAL_SLOTS];
+		label = new int[INITIAL_SLOTS];
+		distance = new int[INITIAL_SLOTS];
+		next = new int[INITIAL_SLOTS];
+		entries = 0;
+	}
+
+	@Override
+	protected void growSlots(int capacity) {
+		head = Arrays.copyOf(head, capacity);
+	}
+
+	/**
+	 * @return The entry labeled by <code>lbl</code> on <code>from, to</code>,
+	 *         or -1 if there is none
+	 */
+	public int findEntry(int from, int to, int lbl) {
+		for (int e = getFirstEntry(from, to); e >= 0; e = next[e]) {
+			if (label[e] == lbl)
+				return e;
+		}
+		return -1;
+	}
+
+	/**
+	 * @return True if an edge labeled by <code>lbl</code> is recorded on
+	 *         <code>from, to</code>
+	 */
+	public boolean contains(int from, int to, int lbl) {
+		return findEntry(from, to, lbl) >= 0;
+	}
+
+	/**
+	 * @return Shortest distance of an edge labeled by <code>lbl</code> on
+	 *         <code>from, to</code>, or the infinity value when no such edge is
+	 *         recorded
+	 */
+	public int get(int from, int to, int lbl) {
+		int e = findEntry(from, to, lbl);
+		return e < 0 ? infinity : distance[e];
+	}
+
+	/**
+	 * Record the distance of an edge labeled by <code>lbl</code> on
+	 * <code>from, to</code>
+	 */
+	public void set(int from, int to, int lbl, int dis) {
+		int e = findEntry(from, to, lbl);
+		if (e >= 0) {
+			distance[e] = dis;
+			return;
+		}
+
+		if (entries == label.length) {
+			label = Arrays.copyOf(label, entries * 2);
+			distance = Arrays.copyOf(distance, entries * 2);
+			next = Arrays.copyOf(next, entries * 2);
+		}
+		e = entries++;
+		label[e] = lbl;
+		distance[e] = dis;
+		next[e] = -1;
+
+		int slot = find(from, to);
+		if (slot < 0) {
+			slot = add(from, to);
+			head[slot] = e;
+		} else {
+			// append, so that labels are enumerated in the order they are added
+			int last = head[slot];
+			while (next[last] >= 0)
+				last = next[last];
+			next[last] = e;
+		}
+	}
+
+	/**
+	 * @return The first entry recorded on <code>from, to</code>, or -1 if
+	 *         there is none
+	 */
+	public int getFirstEntry(int from, int to) {
+		int slot = find(from, to);
+		return slot < 0 ? -1 : head[slot];
+	}
+
+	/**
+	 * @return The entry following <code>entry</code> on the same node pair, or
+	 *         -1 if there is none
+	 */
+	public int getNextEntry(int entry) {
+		return next[entry];
+	}
+
+	/**
+	 * @return Number of entries in the table. Entries are numbered from zero
+	 *         in the order they are added
+	 */
+	public int getEntryCount() {
+		return entries;
+	}
+
+	/**
+	 * @return Label of <code>entry</code>
+	 */
+	public int getLabel(int entry) {
+		return label[entry];
+	}
+
+	/**
+	 * @return Distance of <code>entry</code>
+	 */
+	public int getDistance(int entry) {
+		return distance[entry];
+	}
+}
@@ -0,0 +1,222 @@
+package sherrloc.constraint.analysis;
+
+import java.util.Arrays;
+
+/**
+ * A sparse set of node pairs, where nodes are identified by their indices. Each
+ * pair is packed into a long and stored in an open addressing hash table, which
+ * assigns the pair a dense slot number. Slots can be used by subclasses to
+ * store extra information in primitive arrays.
+ * <p>
+ * Successors and predecessors of each node are also recorded, so that all pairs
+ * starting from (ending at) a node can be enumerated without scanning the whole
+ * table.
+ */
+public class PairIndex {
+	private static final long EMPTY = -1L;
+	private static final int[] NO_NEIGHBORS = new int[0];
+	/** initial capacity of per-slot arrays */
+	protected static final int INITIAL_SLOTS = 32;
+
+	/** open addressing table: packed pairs and their slots */
+	private long[] keys;
+	private int[] slotOf;
+	private int mask;
+
+	/** end nodes of each slot */
+	private int[] fromOf;
+	private int[] toOf;
+	private int size;
+
+	/** adjacency lists, indexed by node indices */
+	private int[][] succ;
+	private int[] succCount;
+	private int[][] pred;
+	private int[] predCount;
+
+	public PairIndex() {
+		keys = new long[64];
+		Arrays.fill(keys, EMPTY);
+		slotOf = new int[64];
+		mask = 63;
+		fromOf = new int[INITIAL_SLOTS];
+		toOf = new int[INITIAL_SLOTS];
+		size = 0;
+		succ = new int[16][];
+		succCount = new int[16];
+		pred = new int[16][];
+		predCount = new int[16];
+	}
+
+	private static long pack(int from, int to) {
+		return ((long) from << 32) | (to & 0xffffffffL);
+	}
+
+	private static int hash(long key) {
+		key ^= (key >>> 33);
+		key *= 0xff51afd7ed558ccdL;
+		key ^= (key >>> 33);
+		return (int) key;
+	}
+
+	/**
+	 * @return The slot of pair <code>(from, to)</code>, or -1 if the pair is
+	 *         not in the index
+	 */
+	public int find(int from, int to) {
+		long key = pack(from, to);
+		int pos = hash(key) & mask;
+		while (keys[pos] != EMPTY) {
+			if (keys[pos] == key)
+				return slotOf[pos];
+			pos = (pos + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * @return True if pair <code>(from, to)</code> is in the index
+	 */
+	public boolean contains(int from, int to) {
+		return find(from, to) >= 0;
+	}
+
+	/**
+	 * Add pair <code>(from, to)</code> to the index if it is not there yet
+	 *
+	 * @return The slot of the pair
+	 */
+	public int add(int from, int to) {
+		long key = pack(from, to);
+		int pos = hash(key) & mask;
+		while (keys[pos] != EMPTY) {
+			if (keys[pos] == key)
+				return slotOf[pos];
+			pos = (pos + 1) & mask;
+		}
+		int slot = size++;
+		keys[pos] = key;
+		slotOf[pos] = slot;
+		if (slot == fromOf.length) {
+			fromOf = Arrays.copyOf(fromOf, slot * 2);
+			toOf = Arrays.copyOf(toOf, slot * 2);
+			growSlots(slot * 2);
+		}
+		fromOf[slot] = from;
+		toOf[slot] = to;
+		addNeighbor(from, to, true);
+		addNeighbor(to, from, false);
+		// keep the load factor below 1/2
+		if (size * 2 > keys.length)
+			rehash();
+		return slot;
+	}
+
+	/**
+	 * Called when the slot arrays grow, so that subclasses can grow their
+	 * per-slot arrays to <code>capacity</code>
+	 */
+	protected void growSlots(int capacity) {
+	}
+
+	private void addNeighbor(int node, int neighbor, boolean forward) {
+		int[][] lists = forward ? succ : pred;
+		int[] counts = forward ? succCount : predCount;
+		if (node >= lists.length) {
+			int len = Math.max(node + 1, lists.length * 2);
+			lists = Arrays.copyOf(lists, len);
+			counts = Arrays.copyOf(counts, len);
+			if (forward) {
+				succ = lists;
+				succCount = counts;
+			} else {
+				pred = lists;
+				predCount = counts;
+			}
+		}
+		int[] list = lists[node];
+		int count = counts[node];
+		if (list == null) {
+			list = new int[2];
+			lists[node] = list;
+		} else if (count == list.length) {
+			list = Arrays.copyOf(list, count * 2);
+			lists[node] = list;
+		}
+		list[count] = neighbor;
+		counts[node] = count + 1;
+	}
+
+	private void rehash() {
+		long[] oldKeys = keys;
+		int[] oldSlots = slotOf;
+		keys = new long[oldKeys.length * 2];
+		Arrays.fill(keys, EMPTY);
+		slotOf = new int[oldKeys.length * 2];
+		mask = keys.length - 1;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != EMPTY) {
+				int pos = hash(oldKeys[i]) & mask;
+				while (keys[pos] != EMPTY)
+					pos = (pos + 1) & mask;
+				keys[pos] = oldKeys[i];
+				slotOf[pos] = oldSlots[i];
+			}
+		}
+	}
+
+	/**
+	 * @return Number of pairs in the index
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return Start node index of the pair stored in <code>slot</code>
+	 */
+	public int getFrom(int slot) {
+		return fromOf[slot];
+	}
+
+	/**
+	 * @return End node index of the pair stored in <code>slot</code>
+	 */
+	public int getTo(int slot) {
+		return toOf[slot];
+	}
+
+	/**
+	 * @return Number of pairs starting from node <code>from</code>
+	 */
+	public int getSuccessorCount(int from) {
+		return from < succCount.length ? succCount[from] : 0;
+	}
+
+	/**
+	 * @return Indices of the end nodes of pairs starting from node
+	 *         <code>from</code>. Only the first
+	 *         {@link #getSuccessorCount(int)} entries are valid. The array is
+	 *         shared with the index and must not be modified
+	 */
+	public int[] getSuccessors(int from) {
+		return from < succ.length && succ[from] != null ? succ[from] : NO_NEIGHBORS;
+	}
+
+	/**
+	 * @return Number of pairs ending at node <code>to</code>
+	 */
+	public int getPredecessorCount(int to) {
+		return to < predCount.length ? predCount[to] : 0;
+	}
+
+	/**
+	 * @return Indices of the start nodes of pairs ending at node
+	 *         <code>to</code>. Only the first
+	 *         {@link #getPredecessorCount(int)} entries are valid. The array is
+	 *         shared with the index and must not be modified
+	 */
+	public int[] getPredecessors(int to) {
+		return to < pred.length && pred[to] != null ? pred[to] : NO_NEIGHBORS;
+	}
+}
@@ -0,0 +1,107 @@
+package sherrloc.constraint.analysis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import sherrloc.graph.ConstraintGraph;
+import sherrloc.graph.ReductionEdge;
+
+/**
+ * A {@link ShortestPathFinder} that applies reduction rules to the edges of a
+ * frontier (edges of the same length) in parallel. Since applying reduction
+ * rules does not modify the graph, and inferred edges are added in the order
+ * of the frontier once all tasks finish, the saturated graph is the same as
+ * the one computed by {@link ShortestPathFinder}, for any number of threads
+ */
+public class ParallelShortestPathFinder extends ShortestPathFinder {
+	/** frontiers with no more edges than this are expanded by one task */
+	private static final int GRAIN = 32;
+
+	private final int nThreads;
+	private ForkJoinPool pool;
+
+	/**
+	 * @param graph
+	 *            A graph to be saturated
+	 * @param nThreads
+	 *            Number of threads used in saturation
+	 */
+	public ParallelShortestPathFinder(ConstraintGraph graph, boolean verbose, boolean isHypo, int nThreads) {
+		this(graph, verbose, isHypo, nThreads, ResourceBudget.unlimited());
+	}
+
+	/**
+	 * @param graph
+	 *            A graph to be saturated
+	 * @param nThreads
+	 *            Number of threads used in saturation
+	 * @param budget
+	 *            Limits on the saturation. The saturated graph is partial
+	 *            when the budget is exhausted
+	 */
+	public ParallelShortestPathFinder(ConstraintGraph graph, boolean verbose, boolean isHypo, int nThreads, ResourceBudget budget) {
+		super(graph, isHypo, new BucketWorkList(), budget);
+		this.nThreads = nThreads;
+		saturate(verbose);
+	}
+
+	/**
+	 * Threads only live during saturation, since a saturated graph may be
+	 * kept for a long time (see {@link #addEdges(java.util.List)})
+	 */
+	@Override
+	protected void saturation() {
+		pool = new ForkJoinPool(nThreads);
+		try {
+			super.saturation();
+		} finally {
+			pool.shutdown();
+			pool = null;
+		}
+	}
+
+	/**
+	 * Apply reduction rules to frontier edges in the range [lo, hi)
+	 */
+	private class ExpandTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final List<ReductionEdge> frontier;
+		private final List<List<Derivation>> results;
+		private final int lo, hi;
+
+		ExpandTask(List<ReductionEdge> frontier, List<List<Derivation>> results, int lo, int hi) {
+			this.frontier = frontier;
+			this.results = results;
+			this.lo = lo;
+			this.hi = hi;
+		}
+
+		@Override
+		protected void compute() {
+			if (hi - lo <= GRAIN) {
+				for (int i = lo; i < hi; i++) {
+					List<Derivation> derived = new ArrayList<Derivation>();
+					applyReductionRules(frontier.get(i), derived);
+					results.set(i, derived);
+				}
+			} else {
+				int mid = (lo + hi) >>> 1;
+				invokeAll(new ExpandTask(frontier, results, lo, mid), new ExpandTask(frontier, results, mid, hi));
+			}
+		}
+	}
+
+	@Override
+	protected List<List<Derivation>> expandFrontier(List<ReductionEdge> frontier) {
+		List<List<Derivation>> results = new ArrayList<List<Derivation>>(frontier.size());
+		for (int i = 0; i < frontier.size(); i++)
+			results.add(null);
+		if (frontier.size() <= GRAIN)
+			new ExpandTask(frontier, results, 0, frontier.size()).compute();
+		else
+			pool.invoke(new ExpandTask(frontier, results, 0, frontier.size()));
+		return results;
+	}
+}
@@ -1,5 +1,6 @@
 package sherrloc.constraint.analysis;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
@@ -45,6 +46,15 @@ public interface PathFinder {
 	 */
 	public Set<Node> getFlowsFrom (Node to);
 	
+	/**
+	 * Enumerate the nodes other than <code>from</code> such that an LEQ edge
+	 * from <code>from</code> to them is inferred in saturation. Unlike
+	 * {@link #getFlowsTo(Node)}, no set is built, and partial orderings that
+	 * hold trivially (e.g., on a bottom element) but are not inferred are not
+	 * enumerated
+	 */
+	public Iterator<Node> getInferredSuccessors (Node from);
+	
 	/**
 	 * @return Length of an LEQ edge inferred on the end nodes
 	 */
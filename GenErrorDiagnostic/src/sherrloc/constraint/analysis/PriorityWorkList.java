@@ -0,0 +1,47 @@
+package sherrloc.constraint.analysis;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+import sherrloc.graph.ReductionEdge;
+
+/**
+ * A {@link WorkList} backed by a binary heap. Edges can have arbitrary lengths
+ */
+public class PriorityWorkList implements WorkList {
+	private PriorityQueue<ReductionEdge> queue;
+	
+	public PriorityWorkList() {
+		queue = new PriorityQueue<ReductionEdge>(
+				500, new Comparator<ReductionEdge>() {
+					public int compare(ReductionEdge o1, ReductionEdge o2) {
+						return o1.getLength() - o2.getLength();
+					}
+				});
+	}
+	
+	@Override
+	public void offer(ReductionEdge edge) {
+		queue.offer(edge);
+	}
+	
+	@Override
+	public ReductionEdge poll() {
+		return queue.poll();
+	}
+	
+	@Override
+	public ReductionEdge peek() {
+		return queue.peek();
+	}
+	
+	@Override
+	public boolean isEmpty() {
+		return queue.isEmpty();
+	}
+	
+	@Override
+	public int size() {
+		return queue.size();
+	}
+}
@@ -0,0 +1,103 @@
+package sherrloc.constraint.analysis;
+
+/**
+ * Limits on the resources used by an error diagnosis: the number of edges
+ * inferred in graph saturation, the number of gray nodes created during
+ * saturation, the number of search nodes generated when explanations are
+ * searched (see {@link sherrloc.diagnostic.HeuristicSearch}), and a wall-clock
+ * deadline. A budget is shared by all stages of a diagnosis. Once a limit is
+ * exceeded, the budget is exhausted, and each stage stops and returns what it
+ * has found so far.
+ */
+public class ResourceBudget {
+	/** value of a limit that is not set */
+	public static final long UNLIMITED = Long.MAX_VALUE;
+
+	private final long maxEdges;
+	private final long maxGrayNodes;
+	private final long maxSearchNodes;
+	private final long deadline;
+
+	private long edges = 0;
+	private long grayNodes = 0;
+	private long searchNodes = 0;
+	/** the exceeded limit, or null if the budget is not exhausted */
+	private String exceeded = null;
+
+	/**
+	 * @param maxEdges
+	 *            Maximum number of inferred edges
+	 * @param maxGrayNodes
+	 *            Maximum number of gray nodes
+	 * @param maxSearchNodes
+	 *            Maximum number of search nodes
+	 * @param timeLimit
+	 *            Wall-clock time limit in milliseconds, starting from now
+	 */
+	public ResourceBudget(long maxEdges, long maxGrayNodes, long maxSearchNodes, long timeLimit) {
+		this.maxEdges = maxEdges;
+		this.maxGrayNodes = maxGrayNodes;
+		this.maxSearchNodes = maxSearchNodes;
+		this.deadline = timeLimit == UNLIMITED ? UNLIMITED : System.currentTimeMillis() + timeLimit;
+	}
+
+	/**
+	 * @return A budget without limits
+	 */
+	public static ResourceBudget unlimited() {
+		return new ResourceBudget(UNLIMITED, UNLIMITED, UNLIMITED, UNLIMITED);
+	}
+
+	/**
+	 * Count an inferred edge
+	 *
+	 * @return False if the budget is exhausted
+	 */
+	public boolean spendEdge() {
+		if (++edges > maxEdges && exceeded == null)
+			exceeded = "inferred edge";
+		return exceeded == null;
+	}
+
+	/**
+	 * Count a gray node to be created
+	 *
+	 * @return False if the budget is exhausted, in which case the node should
+	 *         not be created
+	 */
+	public boolean spendGrayNode() {
+		if (++grayNodes > maxGrayNodes && exceeded == null)
+			exceeded = "gray node";
+		return exceeded == null;
+	}
+
+	/**
+	 * Count a search node to be generated
+	 *
+	 * @return False if the budget is exhausted, in which case the node should
+	 *         not be generated
+	 */
+	public boolean spendSearchNode() {
+		if (++searchNodes > maxSearchNodes && exceeded == null)
+			exceeded = "search node";
+		return exceeded == null;
+	}
+
+	/**
+	 * @return True if a limit has been exceeded, or the deadline has passed
+	 */
+	public boolean isExhausted() {
+		if (exceeded == null && deadline != UNLIMITED && System.currentTimeMillis() > deadline)
+			exceeded = "time";
+		return exceeded != null;
+	}
+
+	/**
+	 * @return A description of the exceeded limit (e.g., "time"), or null if
+	 *         the budget is not exhausted
+	 */
+	public String getExceededLimit() {
+		isExhausted();
+		return exceeded;
+	}
+}
@@ -1,13 +1,14 @@
 package sherrloc.constraint.analysis;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.PriorityQueue;
 import java.util.Set;
 
 import sherrloc.constraint.ast.Application;
@@ -16,6 +17,8 @@ import sherrloc.constraint.ast.Axiom.EdgeMatch;
 import sherrloc.constraint.ast.Axiom.PremiseMatch;
 import sherrloc.constraint.ast.ConstructorApplication;
 import sherrloc.constraint.ast.Element;
+import sherrloc.constraint.ast.EnumerableElement;
+import sherrloc.constraint.ast.Function;
 import sherrloc.constraint.ast.FunctionApplication;
 import sherrloc.constraint.ast.Inequality;
 import sherrloc.constraint.ast.JoinElement;
@@ -23,13 +26,14 @@ import sherrloc.constraint.ast.MeetElement;
 import sherrloc.constraint.ast.Relation;
 import sherrloc.constraint.ast.Variable;
 import sherrloc.constraint.ast.Constructor;
+import sherrloc.graph.ConditionTable;
 import sherrloc.graph.ConstraintGraph;
+import sherrloc.graph.ConstructorEdge;
 import sherrloc.graph.Edge;
 import sherrloc.graph.EdgeCondition;
 import sherrloc.graph.LeftEdge;
 import sherrloc.graph.LeqCondition;
 import sherrloc.graph.LeqEdge;
-import sherrloc.graph.LeqRevCondition;
 import sherrloc.graph.Node;
 import sherrloc.graph.ReductionEdge;
 import sherrloc.graph.RightEdge;
@@ -44,22 +48,69 @@ import sherrloc.graph.Variance;
 public class ShortestPathFinder extends CFLPathFinder {
 	
 	/** length of shortest paths */
-//	private int[][] shortestLEQ;
-//	private Map<EdgeCondition, Integer>[][] shortestLeft;
-	private Map<Integer, Map<Integer, Integer>> shortestLEQ;
-	private Map<Integer, Map<Integer, Map<EdgeCondition, Integer>>> shortestLeft;
+	private DistanceTable shortestLEQ;
+	/** LEFT edges are labeled by the ids of their edge conditions (see {@link ConditionTable}) */
+	private LabeledDistanceTable shortestLeft;
 	
 	/** Lookup tables to find enumerable elements from components. These tables are used to infer extra edges for join/meet/constructors */
 	private Map<Node, List<Node>>   joinElements = new HashMap<Node, List<Node>>();
 	private Map<Node, List<Node>>   meetElements = new HashMap<Node, List<Node>>();
 	private Map<Node, List<Node>>   consElements = new HashMap<Node, List<Node>>();
+	/** indices of the distinct component nodes of each join/meet node */
+	private Map<Node, int[]>        closureComponents = new HashMap<Node, int[]>();
+	/**
+	 * satisfied components of join nodes flowing into candidates, and of
+	 * candidates flowing into meet nodes (see {@link ComponentCounters})
+	 */
+	private ComponentCounters joinCounters = new ComponentCounters();
+	private ComponentCounters meetCounters = new ComponentCounters();
+	/**
+	 * Applications in table consElements, grouped by their constructors or
+	 * functions, so that only applications of the same head are paired
+	 */
+	private Map<Node, Map<Element, List<Node>>> consByHead = new HashMap<Node, Map<Element, List<Node>>>();
+	/**
+	 * indices of the argument nodes of applications (indexed by the indices
+	 * of the applications), and the applications
+	 * (with argument positions) having each node as an argument. Arguments
+	 * are collected when an application is first paired with another one
+	 */
+	private int[][] consArguments = new int[0][];
+	private Map<Node, List<int[]>> argumentOf = new HashMap<Node, List<int[]>>();
+	/**
+	 * satisfied argument conditions of pairs of applications: argument
+	 * <code>i</code> of the first application flows into argument
+	 * <code>i</code> of the second one, and the other way around
+	 * (numbered <code>arity+i</code>) for invariant applications
+	 */
+	private ComponentCounters consCounters = new ComponentCounters();
+	/** number of graph nodes in the lookup tables */
+	private int tabledNodes = 0;
+	
+	/**
+	 * nodes where inferred edges may start in the demand-driven mode, or null
+	 * when edges on all pairs of nodes are inferred
+	 */
+	private BitSet demanded = null;
+	/** demanded nodes whose graph edges are not added to the worklist yet */
+	private List<Node> pendingDemand = new ArrayList<Node>();
 	
 	/** for each node, we track a trace of solid edges (edges where both end nodes are black) to avoid recursion */
 	private Map<Node, Set<Edge>>	trace = new HashMap<Node, Set<Edge>>();
 	
+	/**
+	 * matches of the premise of each axiom found so far, and the number of
+	 * graph nodes when the conclusions are applied to all nodes
+	 */
+	private Map<Axiom, List<PremiseMatch>> axiomMatches = new HashMap<Axiom, List<PremiseMatch>>();
+	private int axiomNodes = -1;
+	
+	/** limits on the inferred edges and gray nodes */
+	private final ResourceBudget budget;
+	
 	/** other fields */
 	private int MAX = 100000;
-	private PriorityQueue<ReductionEdge> queue;
+	protected WorkList queue;
 	private boolean DEBUG = false;
 	private boolean ACTIVE = true;
 	
@@ -73,33 +124,262 @@ public class ShortestPathFinder extends CFLPathFinder {
 	 *            A graph to be saturated
 	 */
 	public ShortestPathFinder(ConstraintGraph graph, boolean verbose, boolean isHypo) {
+		this(graph, verbose, isHypo, new BucketWorkList());
+	}
+	
+	/**
+	 * @param graph
+	 *            A graph to be saturated
+	 * @param worklist
+	 *            An empty worklist that orders the inferred edges
+	 */
+	public ShortestPathFinder(ConstraintGraph graph, boolean verbose, boolean isHypo, WorkList worklist) {
+		this(graph, isHypo, worklist, ResourceBudget.unlimited());
+		saturate(verbose);
+	}
+	
+	/**
+	 * Saturate the graph on demand (see
+	 * {@link #ShortestPathFinder(ConstraintGraph, boolean, Collection, ResourceBudget)})
+	 * without resource limits
+	 */
+	public ShortestPathFinder(ConstraintGraph graph, boolean verbose, Collection<Node> sources) {
+		this(graph, verbose, sources, ResourceBudget.unlimited());
+	}
+	
+	/**
+	 * Saturate the graph on demand: only the edges starting from the sources,
+	 * and from the nodes they depend on (see {@link #demand(Node)}), are
+	 * inferred. Queries on other start nodes may miss edges. When the graph
+	 * has axioms, whose premises may match any edge, the graph is fully
+	 * saturated
+	 * 
+	 * @param graph
+	 *            A graph to be saturated
+	 * @param sources
+	 *            Start nodes of the edges of interest
+	 * @param budget
+	 *            Limits on the saturation. The saturated graph is partial
+	 *            when the budget is exhausted
+	 */
+	public ShortestPathFinder(ConstraintGraph graph, boolean verbose, Collection<Node> sources, ResourceBudget budget) {
+		this(graph, false, new BucketWorkList(), budget);
+		if (g.getRules().isEmpty()) {
+			demanded = new BitSet();
+			for (Node n : sources)
+				demand(n);
+		}
+		saturate(verbose);
+	}
+	
+	/**
+	 * Initialize data structures without saturating the graph. Subclasses
+	 * should call {@link #saturate(boolean)} once they are initialized
+	 * 
+	 * @param graph
+	 *            A graph to be saturated
+	 * @param worklist
+	 *            An empty worklist that orders the inferred edges
+	 * @param budget
+	 *            Limits on the saturation. Saturation stops when the budget
+	 *            is exhausted
+	 */
+	protected ShortestPathFinder(ConstraintGraph graph, boolean isHypo, WorkList worklist, ResourceBudget budget) {
 		super(graph);
+		this.budget = budget;
 		/** initialize data structures */
 		standardForm = USE_SF && !isHypo;
 		actively_expanding = ACTIVE; // && isHypo;
-		queue = new PriorityQueue<ReductionEdge>(
-				500, new Comparator<ReductionEdge>() {
-					public int compare(ReductionEdge o1, ReductionEdge o2) {
-						return o1.getLength() - o2.getLength();
-					}
-				});
-		shortestLEQ = new HashMap<Integer, Map<Integer, Integer>>();
-		shortestLeft = new HashMap<Integer, Map<Integer, Map<EdgeCondition, Integer>>>();
-//		for (int i=0; i<size; i++) {
-//			for (int j=0; j<size; j++) {
-//				if (i == j)
-//					shortestLEQ[i][j] = 0;
-//				else
-//					shortestLEQ[i][j] = MAX;
-//			}
-//		}
+		queue = worklist;
+		shortestLEQ = new DistanceTable(MAX);
+		shortestLeft = new LabeledDistanceTable(MAX);
 		initTables();
+	}
+	
+	/**
+	 * Saturate the graph
+	 * 
+	 * @param verbose
+	 *            True to print out the time of saturation
+	 */
+	protected void saturate(boolean verbose) {
 		long startTime = System.currentTimeMillis();
-		initialize();
-		saturation();
+		if (demanded == null)
+			initialize();
+		else
+			initialize(takePendingEdges());
+		saturateOnDemand();
 		long endTime = System.currentTimeMillis();
-		if (verbose)
+		if (verbose) {
 			System.out.println("path_finding time: " + (endTime - startTime));
+			if (demanded != null)
+				System.out.println("demanded_nodes: " + demanded.cardinality());
+		}
+	}
+	
+	/**
+	 * Saturate the graph. In the demand-driven mode, nodes demanded during
+	 * saturation (e.g., components of new gray nodes) have no inferred edges
+	 * yet, so their graph edges are added and the graph is saturated again,
+	 * until no more nodes are demanded
+	 */
+	private void saturateOnDemand() {
+		saturation();
+		while (demanded != null && !pendingDemand.isEmpty()) {
+			initialize(takePendingEdges());
+			saturation();
+		}
+	}
+	
+	/**
+	 * @return True if edges starting from <code>n</code> are inferred
+	 */
+	protected boolean isDemanded(Node n) {
+		return demanded == null || demanded.get(n.getIndex());
+	}
+	
+	/**
+	 * Demand edges starting from node <code>n</code>. An edge from a demanded
+	 * node may be derived from edges on other nodes, so the following nodes
+	 * are demanded as well:
+	 * <ul>
+	 * <li>successors in the graph, since derived edges follow graph paths
+	 * <li>components of <code>n</code>, which are compared when an edge is
+	 * inferred on a join/meet/constructor element
+	 * <li>join, meet and constructor elements having <code>n</code> as a
+	 * component, since an edge from <code>n</code> may go through them
+	 * </ul>
+	 */
+	private void demand(Node n) {
+		List<Node> toVisit = new ArrayList<Node>();
+		toVisit.add(n);
+		while (!toVisit.isEmpty()) {
+			Node current = toVisit.remove(toVisit.size() - 1);
+			if (demanded.get(current.getIndex()))
+				continue;
+			demanded.set(current.getIndex());
+			pendingDemand.add(current);
+			toVisit.addAll(g.getNeighbors(current));
+			Element element = current.getElement();
+			if (element instanceof EnumerableElement) {
+				for (Element ele : ((EnumerableElement) element).getElements()) {
+					if (g.hasElement(ele))
+						toVisit.add(g.getNode(ele));
+				}
+			}
+			if (joinElements.containsKey(current))
+				toVisit.addAll(joinElements.get(current));
+			if (meetElements.containsKey(current))
+				toVisit.addAll(meetElements.get(current));
+			if (consElements.containsKey(current))
+				toVisit.addAll(consElements.get(current));
+		}
+	}
+	
+	/**
+	 * @return Graph edges from the demanded nodes that are not in the worklist
+	 *         yet, in the order of the graph
+	 */
+	private List<Edge> takePendingEdges() {
+		BitSet pending = new BitSet();
+		for (Node n : pendingDemand)
+			pending.set(n.getIndex());
+		pendingDemand.clear();
+		List<Edge> ret = new ArrayList<Edge>();
+		for (Edge edge : g.getAllEdges()) {
+			if (pending.get(edge.getFrom().getIndex()))
+				ret.add(edge);
+		}
+		return ret;
+	}
+	
+	/**
+	 * Add edges to a saturated graph, and saturate the graph again. Only the
+	 * consequences of the new edges are inferred, which costs a fraction of
+	 * saturating the whole graph from scratch. The length of an existing edge
+	 * is updated when a shorter path is derived from the new edges
+	 * 
+	 * @param edges
+	 *            Edges that are added to the graph after saturation (see
+	 *            {@link ConstraintGraph#addConstraints(java.util.Collection)})
+	 * @return LEQ and LEFT edges on pairs of nodes that are not related
+	 *         before
+	 */
+	public List<ReductionEdge> addEdges(List<Edge> edges) {
+		int leqSlots = shortestLEQ.size();
+		int leftSlots = shortestLeft.size();
+		List<Node> newNodes = initTables();
+		if (demanded == null)
+			initialize(edges);
+		else {
+			// new nodes are demanded, as well as the nodes reachable from a
+			// demanded node by the new edges
+			BitSet old = (BitSet) demanded.clone();
+			List<Edge> toAdd = new ArrayList<Edge>();
+			for (Edge edge : edges) {
+				if (old.get(edge.getFrom().getIndex())) {
+					toAdd.add(edge);
+					demand(edge.getTo());
+				}
+			}
+			for (Node n : newNodes)
+				demand(n);
+			toAdd.addAll(takePendingEdges());
+			initialize(toAdd);
+		}
+		
+		// rule LEFT ::= LEFT LEQ uses the reverse of the processed LEQ edge for
+		// contravariant parameters. Graph edges are in the tables before any
+		// edge is processed in a full saturation, so existing edges reversing
+		// the new ones are processed again
+		for (Edge edge : edges) {
+			if (!(edge instanceof ConstructorEdge)) {
+				int slot = shortestLEQ.find(edge.getTo().getIndex(), edge.getFrom().getIndex());
+				if (slot >= 0 && slot < leqSlots)
+					queue.offer(new LeqEdge(edge.getTo(), edge.getFrom(), shortestLEQ.getDistance(slot)));
+			}
+		}
+		
+		// extra edges are inferred when an edge on the components of a
+		// join/meet/constructor element is processed, so the existing edges
+		// on the components of new elements are processed again. Axioms may
+		// use new nodes in their conclusions, so all existing edges are
+		// processed again when there are axioms
+		Set<Node> components = new HashSet<Node>();
+		for (Node n : newNodes)
+			addComponents(n.getElement(), components);
+		for (int slot = 0; slot < leqSlots; slot++) {
+			Node from = g.getNode(shortestLEQ.getFrom(slot));
+			Node to = g.getNode(shortestLEQ.getTo(slot));
+			if (!g.getRules().isEmpty() || components.contains(from) || components.contains(to))
+				tryAddingExtraEdges(new LeqEdge(from, to, shortestLEQ.getDistance(slot)));
+		}
+		saturateOnDemand();
+		
+		List<ReductionEdge> ret = new ArrayList<ReductionEdge>();
+		for (int slot = leqSlots; slot < shortestLEQ.size(); slot++) {
+			ret.add(new LeqEdge(g.getNode(shortestLEQ.getFrom(slot)), g.getNode(shortestLEQ.getTo(slot)), shortestLEQ.getDistance(slot)));
+		}
+		for (int slot = leftSlots; slot < shortestLeft.size(); slot++) {
+			int e = shortestLeft.getFirstEntry(shortestLeft.getFrom(slot), shortestLeft.getTo(slot));
+			ret.add(new LeftEdge(g.getNode(shortestLeft.getFrom(slot)), g.getNode(shortestLeft.getTo(slot)), shortestLeft.getDistance(e), conditions.get(shortestLeft.getLabel(e))));
+		}
+		return ret;
+	}
+	
+	/**
+	 * Collect the nodes of elements that may enable extra edges on
+	 * <code>element</code> (see {@link #tryAddingExtraEdges(LeqEdge)})
+	 */
+	private void addComponents(Element element, Set<Node> components) {
+		if (element instanceof JoinElement || element instanceof MeetElement || element instanceof Application) {
+			for (Element ele : ((EnumerableElement) element).getElements()) {
+				if (g.hasElement(ele))
+					components.add(g.getNode(ele));
+				if (ele instanceof Application)
+					addComponents(ele, components);
+			}
+		}
 	}
 	
 	@Override
@@ -108,10 +388,41 @@ public class ShortestPathFinder extends CFLPathFinder {
 	}
 	
 	/**
-	 * initialize the lookup tables
+	 * @return Lengths of the shortest LEQ edges
+	 */
+	DistanceTable getLeqTable() {
+		return shortestLEQ;
+	}
+	
+	/**
+	 * @return Lengths of the shortest LEFT edges, labeled by the ids of their
+	 *         edge conditions
+	 */
+	LabeledDistanceTable getLeftTable() {
+		return shortestLeft;
+	}
+	
+	/**
+	 * @return The edge condition of LEFT edges labeled by <code>id</code>
+	 */
+	EdgeCondition getLeftCondition(int id) {
+		return conditions.get(id);
+	}
+	
+	/**
+	 * initialize the lookup tables for graph nodes that are not in the tables
+	 * yet
+	 * 
+	 * @return Nodes added to the lookup tables
 	 */
-	private void initTables() {
+	private List<Node> initTables() {
+		List<Node> ret = new ArrayList<Node>();
+		int index = 0;
 		for (Node n : g.getAllNodes()) {
+			// nodes are iterated in the order of creation
+			if (index++ < tabledNodes)
+				continue;
+			ret.add(n);
 			Element element = n.getElement();
 			if (element instanceof JoinElement) {
 				JoinElement je = (JoinElement) element;
@@ -121,6 +432,7 @@ public class ShortestPathFinder extends CFLPathFinder {
 						joinElements.put(toadd, new ArrayList<Node>());
 					joinElements.get(toadd).add(n);
 				}
+				closureComponents.put(n, distinctComponents(je));
 			} else if (element instanceof MeetElement) {
 				MeetElement je = (MeetElement) element;
 				for (Element ele : je.getElements()) {
@@ -129,6 +441,7 @@ public class ShortestPathFinder extends CFLPathFinder {
 						meetElements.put(toadd, new ArrayList<Node>());
 					meetElements.get(toadd).add(n);
 				}
+				closureComponents.put(n, distinctComponents(je));
 			} else if (element instanceof ConstructorApplication || element instanceof FunctionApplication) {
 				// notice that we only need to infer extra edges for concrete
 				// constructors and functions, so there is no need to collect VariableApplication
@@ -136,6 +449,35 @@ public class ShortestPathFinder extends CFLPathFinder {
 				initConsElements ((Application) element, n);
 			}
 		}
+		tabledNodes = index;
+		return ret;
+	}
+	
+	/**
+	 * @return Indices of the distinct nodes of the components of
+	 *         <code>element</code>
+	 */
+	private int[] distinctComponents(EnumerableElement element) {
+		int[] ret = new int[element.getElements().size()];
+		int size = 0;
+		for (Element ele : element.getElements()) {
+			int index = g.getNode(ele).getIndex();
+			if (positionOf(ret, size, index) < 0)
+				ret[size++] = index;
+		}
+		return Arrays.copyOf(ret, size);
+	}
+	
+	/**
+	 * @return Position of <code>index</code> in the first <code>size</code>
+	 *         entries of <code>components</code>, or -1 if it is not there
+	 */
+	private static int positionOf(int[] components, int size, int index) {
+		for (int i = 0; i < size; i++) {
+			if (components[i] == index)
+				return i;
+		}
+		return -1;
 	}
 	
 	/**
@@ -153,52 +495,239 @@ public class ShortestPathFinder extends CFLPathFinder {
 				Node toadd = g.getNode(ele);
 				if (!consElements.containsKey(toadd))
 					consElements.put(toadd, new ArrayList<Node>());
-				if (!consElements.get(toadd).contains(n))
+				if (!consElements.get(toadd).contains(n)) {
 					consElements.get(toadd).add(n);
+					Element head = getHead((Application) n.getElement());
+					if (head != null) {
+						if (!consByHead.containsKey(toadd))
+							consByHead.put(toadd, new HashMap<Element, List<Node>>());
+						Map<Element, List<Node>> heads = consByHead.get(toadd);
+						if (!heads.containsKey(head))
+							heads.put(head, new ArrayList<Node>());
+						heads.get(head).add(n);
+					}
+				}
 			}
 		}
 	}
 	
-	private int getShortestLeq (Node start, Node end) {
-		if (shortestLEQ.containsKey(start.getIndex()) && shortestLEQ.get(start.getIndex()).containsKey(end.getIndex()))
-			return shortestLEQ.get(start.getIndex()).get(end.getIndex());
-		else
-			return MAX;
-//		return shortestLEQ[start.getIndex()][end.getIndex()];
+	/**
+	 * @return The constructor of a constructor application, the function of a
+	 *         function application, or null for other applications
+	 */
+	private static Element getHead (Application app) {
+		if (app instanceof ConstructorApplication)
+			return ((ConstructorApplication) app).getCons();
+		else if (app instanceof FunctionApplication)
+			return ((FunctionApplication) app).getFunc();
+		return null;
+	}
+	
+	/**
+	 * @return Indices of the argument nodes of application node
+	 *         <code>n</code>, which are indexed by their positions in
+	 *         <code>n</code> the first time they are requested
+	 */
+	private int[] getArguments (Node n) {
+		if (n.getIndex() >= consArguments.length)
+			consArguments = Arrays.copyOf(consArguments, Math.max(n.getIndex() + 1, 2 * consArguments.length));
+		int[] args = consArguments[n.getIndex()];
+		if (args == null) {
+			List<Element> elements = ((Application) n.getElement()).getElements();
+			args = new int[elements.size()];
+			for (int i = 0; i < args.length; i++) {
+				Node arg = g.getNode(elements.get(i));
+				args[i] = arg.getIndex();
+				if (!argumentOf.containsKey(arg))
+					argumentOf.put(arg, new ArrayList<int[]>());
+				argumentOf.get(arg).add(new int[] { n.getIndex(), i });
+			}
+			consArguments[n.getIndex()] = args;
+		}
+		return args;
+	}
+	
+	protected int getShortestLeq (Node start, Node end) {
+		return shortestLEQ.get(start.getIndex(), end.getIndex());
 	}
 	
 	private void setShortestLeq (Node start, Node end, int size) {
-		if (!shortestLEQ.containsKey(start.getIndex()))
-			shortestLEQ.put(start.getIndex(), new HashMap<Integer, Integer>());
-		shortestLEQ.get(start.getIndex()).put(end.getIndex(), size);
+		boolean isNew = !shortestLEQ.contains(start.getIndex(), end.getIndex());
+		shortestLEQ.set(start.getIndex(), end.getIndex(), size);
+		if (isNew) {
+			satisfyComponents(start, end);
+			satisfyArguments(start, end);
+		}
+	}
+	
+	/**
+	 * Update the counters of the pairs of applications whose arguments at the
+	 * same position are related by a new LEQ edge on <code>start, end</code>
+	 * (see {@link #argumentsFlowInto})
+	 */
+	private void satisfyArguments (Node start, Node end) {
+		List<int[]> apps = argumentOf.get(start);
+		if (apps == null)
+			return;
+		for (int[] app : apps) {
+			int pos = app[1];
+			// start is an argument of the first application
+			int[] succs = consCounters.getSuccessors(app[0]);
+			for (int i = 0; i < consCounters.getSuccessorCount(app[0]); i++) {
+				if (consArguments[succs[i]][pos] == end.getIndex())
+					consCounters.satisfy(consCounters.find(app[0], succs[i]), pos);
+			}
+			// start is an argument of the second, invariant, application
+			int[] preds = consCounters.getPredecessors(app[0]);
+			for (int i = 0; i < consCounters.getPredecessorCount(app[0]); i++) {
+				int[] args = consArguments[preds[i]];
+				if (args[pos] == end.getIndex() && ((Application) g.getNode(preds[i]).getElement()).getVariance().equals(Variance.NONE))
+					consCounters.satisfy(consCounters.find(preds[i], app[0]), args.length + pos);
+			}
+		}
+	}
+	
+	/**
+	 * @return True if each argument of application <code>cnFrom</code> flows
+	 *         into the argument of <code>cnTo</code> at the same position, and
+	 *         the other way around when <code>cnFrom</code> is invariant. The
+	 *         satisfied arguments are counted by scanning all arguments the
+	 *         first time a pair is checked, and are updated when LEQ edges are
+	 *         added afterwards
+	 */
+	private boolean argumentsFlowInto (Node cnFrom, Node cnTo, int arity, boolean invariant) {
+		int slot = consCounters.find(cnFrom.getIndex(), cnTo.getIndex());
+		if (slot < 0) {
+			int[] args1 = getArguments(cnFrom);
+			int[] args2 = getArguments(cnTo);
+			slot = consCounters.track(cnFrom.getIndex(), cnTo.getIndex(), invariant ? 2 * arity : arity);
+			for (int i = 0; i < arity; i++) {
+				Node e1 = g.getNode(args1[i]), e2 = g.getNode(args2[i]);
+				if (hasLeqEdge(e1, e2))
+					consCounters.satisfy(slot, i);
+				if (invariant && hasLeqEdge(e2, e1))
+					consCounters.satisfy(slot, args1.length + i);
+			}
+		}
+		return consCounters.isComplete(slot);
+	}
+	
+	/**
+	 * Update the counters of the join/meet nodes that have a component
+	 * satisfied by a new LEQ edge on <code>start, end</code>. Only tracked
+	 * pairs are updated, since the counters of a pair are initialized from
+	 * the table when the pair is tracked
+	 */
+	private void satisfyComponents (Node start, Node end) {
+		List<Node> meetnodes = meetElements.get(end);
+		if (meetnodes != null) {
+			for (Node meetnode : meetnodes) {
+				int slot = meetCounters.find(start.getIndex(), meetnode.getIndex());
+				if (slot >= 0) {
+					int[] components = closureComponents.get(meetnode);
+					meetCounters.satisfy(slot, positionOf(components, components.length, end.getIndex()));
+				}
+			}
+		}
+		List<Node> joinnodes = joinElements.get(start);
+		if (joinnodes != null) {
+			for (Node joinnode : joinnodes) {
+				int slot = joinCounters.find(joinnode.getIndex(), end.getIndex());
+				if (slot >= 0) {
+					int[] components = closureComponents.get(joinnode);
+					joinCounters.satisfy(slot, positionOf(components, components.length, start.getIndex()));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * @return True if <code>candidate</code> flows into all components of
+	 *         <code>meetnode</code>. The satisfied components are counted by
+	 *         scanning all components the first time a pair is checked, and
+	 *         are updated when LEQ edges are added afterwards
+	 */
+	private boolean flowsIntoComponents (Node candidate, Node meetnode) {
+		int slot = meetCounters.find(candidate.getIndex(), meetnode.getIndex());
+		if (slot < 0) {
+			int[] components = closureComponents.get(meetnode);
+			slot = meetCounters.track(candidate.getIndex(), meetnode.getIndex(), components.length);
+			for (int i = 0; i < components.length; i++) {
+				if (hasLeqEdge(candidate, g.getNode(components[i])))
+					meetCounters.satisfy(slot, i);
+			}
+		}
+		return meetCounters.isComplete(slot);
+	}
+	
+	/**
+	 * @return True if all components of <code>joinnode</code> flow into
+	 *         <code>candidate</code> (see {@link #flowsIntoComponents})
+	 */
+	private boolean componentsFlowInto (Node joinnode, Node candidate) {
+		int slot = joinCounters.find(joinnode.getIndex(), candidate.getIndex());
+		if (slot < 0) {
+			int[] components = closureComponents.get(joinnode);
+			slot = joinCounters.track(joinnode.getIndex(), candidate.getIndex(), components.length);
+			for (int i = 0; i < components.length; i++) {
+				if (hasLeqEdge(g.getNode(components[i]), candidate))
+					joinCounters.satisfy(slot, i);
+			}
+		}
+		return joinCounters.isComplete(slot);
+	}
+	
+	/**
+	 * @return The label of <code>ec</code> in table shortestLeft, or -1 if
+	 *         <code>ec</code> is not used by any LEFT edge yet
+	 */
+	int getLeftConditionId (EdgeCondition ec) {
+		return conditions.find(ec);
 	}
 	
 	// assume hasLeft(start, end)
-	private int getShortestLeft (Node start, Node end, EdgeCondition inferredType) {
-		return shortestLeft.get(start.getIndex()).get(end.getIndex()).get(inferredType);
+	protected int getShortestLeft (Node start, Node end, EdgeCondition inferredType) {
+		return getShortestLeft(start, end, conditions.find(inferredType));
 	}
 	
-	private boolean hasShortestLeft (Node start, Node end, EdgeCondition inferredType) {
-		if (shortestLeft.containsKey(start.getIndex()) && shortestLeft.get(start.getIndex()).containsKey(end.getIndex()) 
-				&& shortestLeft.get(start.getIndex()).get(end.getIndex()).containsKey(inferredType))
-			return true;
-		else
-			return false;
+	/**
+	 * @return Length of the shortest LEFT edge on <code>start, end</code> with
+	 *         the condition numbered <code>label</code>
+	 */
+	private int getShortestLeft (Node start, Node end, int label) {
+		return shortestLeft.get(start.getIndex(), end.getIndex(), label);
+	}
+	
+	protected boolean hasShortestLeft (Node start, Node end, EdgeCondition inferredType) {
+		return hasShortestLeft(start, end, conditions.find(inferredType));
+	}
+	
+	private boolean hasShortestLeft (Node start, Node end, int label) {
+		return label >= 0 && shortestLeft.contains(start.getIndex(), end.getIndex(), label);
 	}
 	
-	private void setShortestLeft (Node start, Node end, EdgeCondition inferredType, int size) {
-		if (!shortestLeft.containsKey(start.getIndex()))
-			shortestLeft.put(start.getIndex(), new HashMap<Integer, Map<EdgeCondition, Integer>>());
-		if (!shortestLeft.get(start.getIndex()).containsKey(end.getIndex()))
-			shortestLeft.get(start.getIndex()).put(end.getIndex(), new HashMap<EdgeCondition, Integer>());
-		shortestLeft.get(start.getIndex()).get(end.getIndex()).put(inferredType, size);
+	private void setShortestLeft (Node start, Node end, int label, int size) {
+		shortestLeft.set(start.getIndex(), end.getIndex(), label, size);
 	}
 	
 	@Override
 	protected void inferEdge(Node start, Node end, EdgeCondition inferredType, int size, List<Evidence> evidence, boolean isAtomic) {	
+		if (!isDemanded(start))
+			return;
+		addNextHop(start, end, inferredType, evidence);
+		addEdge(start, end, inferredType, conditions.getId(inferredType), size, isAtomic);
+	}
+	
+	/**
+	 * Add an edge whose evidences are recorded to the tables and the worklist
+	 * 
+	 * @param label
+	 *            The id of <code>inferredType</code>
+	 */
+	private void addEdge(Node start, Node end, EdgeCondition inferredType, int label, int size, boolean isAtomic) {
+		budget.spendEdge();
 		if (inferredType instanceof LeqCondition)
 			System.out.println("Adding edge "+start.getElement()+"->"+end.getElement());
-		addNextHop(start, end, inferredType, evidence);
 		
 		if (inferredType instanceof LeqCondition) {
 			if (start.equals(end))
@@ -211,18 +740,10 @@ public class ShortestPathFinder extends CFLPathFinder {
 		}
 		else if (!inferredType.isReverse()) {
 			queue.offer(new LeftEdge(start, end, size, inferredType));
-			setShortestLeft(start, end, inferredType, size);
+			setShortestLeft(start, end, label, size);
 		}
 		else {
-			RightEdge newedge = new RightEdge(start, end, size, inferredType);
-			int fIndex = start.getIndex(), tIndex = end.getIndex();
-			if (!rightPath.containsKey(fIndex)) {
-				rightPath.put(fIndex, new HashMap<Integer, List<RightEdge>>());
-			}
-			if (!rightPath.get(fIndex).containsKey(tIndex)) {
-				rightPath.get(fIndex).put(tIndex, new ArrayList<RightEdge>());
-			}
-			rightPath.get(fIndex).get(tIndex).add(newedge);
+			addRightEdge(new RightEdge(start, end, size, inferredType));
 		}
 		
 		if (DEBUG) {
@@ -234,6 +755,36 @@ public class ShortestPathFinder extends CFLPathFinder {
 		}
 	}	
 	
+	/**
+	 * Add an edge inferred by a reduction rule to the graph, unless an edge of
+	 * the same type and of the same or shorter length has been inferred on the
+	 * end nodes
+	 * 
+	 * @param d
+	 *            An inferred edge
+	 */
+	protected void addDerivation (Derivation d) {
+		if (!isDemanded(d.start))
+			return;
+		if (d.ty instanceof LeqCondition) {
+			if (d.size >= getShortestLeq(d.start, d.end))
+				return;
+			setShortestLeq(d.start, d.end, d.size);
+		}
+		else {
+			int label = d.evidence == null ? d.label : conditions.getId(d.ty);
+			if (hasShortestLeft(d.start, d.end, label) && d.size >= getShortestLeft(d.start, d.end, label))
+				return;
+			setShortestLeft(d.start, d.end, label, d.size);
+		}
+		if (d.evidence != null)
+			inferEdge(d.start, d.end, d.ty, d.size, d.evidence, d.isAtomic);
+		else {
+			addNextHop(d.start, d.mid, d.end, d.label, d.first, d.second);
+			addEdge(d.start, d.end, d.ty, d.label, d.size, d.isAtomic);
+		}
+	}
+	
 	/**
 	 * apply rule LEQ ::= LEQ LEQ
 	 * 
@@ -244,17 +795,16 @@ public class ShortestPathFinder extends CFLPathFinder {
 	 *            the second LEQ edge
 	 * @param tIndex
 	 *            End node of the second LEQ edge
+	 * @param derived
+	 *            Inferred edges are appended to this list
 	 */
-	private void applyLeqLeq (Node from, Node mid, Node to) {
+	private void applyLeqLeq (Node from, Node mid, Node to, List<Derivation> derived) {
 		if (from.equals(to))
 			return;
 		int disSF = getShortestLeq(from, mid), disFT = getShortestLeq(mid, to), disST = getShortestLeq(from, to);
 		if (disSF + disFT < disST) {
-			setShortestLeq(from, to, disSF + disFT);
-			List<Evidence> evi = new ArrayList<Evidence>();
-			evi.add(new Evidence(from, mid, LeqCondition.getInstance()));
-			evi.add(new Evidence(mid, to, LeqCondition.getInstance()));
-			inferEdge(from, to, LeqCondition.getInstance(), disSF+disFT, evi, false);
+			int leq = ConditionTable.LEQ;
+			derived.add(new Derivation(from, mid, to, LeqCondition.getInstance(), leq, disSF+disFT, leq, leq, false));
 		}
 	}
 		
@@ -269,33 +819,28 @@ public class ShortestPathFinder extends CFLPathFinder {
 	 * @param rightE
 	 *            End node of the RIGHT edge
 	 * @param ec
-	 *            Edge condition ({@link EdgeCondition}) of the LEFT edge
+	 *            Id of the edge condition ({@link EdgeCondition}) of the LEFT
+	 *            edge
+	 * @param derived
+	 *            Inferred edges are appended to this list
 	 */
-	private void applyLeftRight (Node from, Node mid, Node to, EdgeCondition ec) {
-		if (ec != null && hasLeftEdge(from, mid) &&
+	private void applyLeftRight (Node from, Node mid, Node to, int ec, List<Derivation> derived) {
+		if (hasLeftEdge(from, mid) &&
 				hasRightEdges(mid, to) && getShortestLeft(from, mid, ec) + 1 < getShortestLeq(from, to)) {
-			for (RightEdge e : getRightEdges(mid, to)) {
-				if (e != null && ec.matches(((RightEdge) e).cons)) {
-					setShortestLeq(from, to, getShortestLeft(from, mid, ec) + 1);
-					List<Evidence> evi = new ArrayList<Evidence>();
-					evi.add(new Evidence(from, mid, ec));
-					evi.add(new Evidence(mid, to, ((RightEdge) e).cons));
-					inferEdge(from, to, LeqCondition.getInstance(), getShortestLeft(from, mid, ec) + 1, evi, true);
+			for (int right : getRightConditions(mid, to)) {
+				if (conditions.matches(ec, right)) {
+					derived.add(new Derivation(from, mid, to, LeqCondition.getInstance(), ConditionTable.LEQ, getShortestLeft(from, mid, ec) + 1, ec, right, true));
 				}
 			}
 		}
 	}
 	
-	private void applyRightLeft (Node from, Node mid, Node to, EdgeCondition ec) {
-		if (ec != null && hasLeftEdge(mid, to) &&
+	private void applyRightLeft (Node from, Node mid, Node to, int ec, List<Derivation> derived) {
+		if (hasLeftEdge(mid, to) &&
 				hasRightEdges(from, mid) && getShortestLeft(mid, to, ec) + 1 < getShortestLeq(from, to)) {
-			for (RightEdge e : getRightEdges(from, mid)) {
-				if (e != null && ec.matches(((RightEdge) e).cons)) {
-					setShortestLeq(from, to, getShortestLeft(mid, to, ec) + 1);
-					List<Evidence> evi = new ArrayList<Evidence>();
-					evi.add(new Evidence(from, mid, ((RightEdge) e).cons));
-					evi.add(new Evidence(mid, to, ec));
-					inferEdge(from, to, LeqCondition.getInstance(), getShortestLeft(mid, to, ec) + 1, evi, true);
+			for (int right : getRightConditions(from, mid)) {
+				if (conditions.matches(ec, right)) {
+					derived.add(new Derivation(from, mid, to, LeqCondition.getInstance(), ConditionTable.LEQ, getShortestLeft(mid, to, ec) + 1, right, ec, true));
 				}
 			}
 		}
@@ -311,19 +856,22 @@ public class ShortestPathFinder extends CFLPathFinder {
 	 * @param newE
 	 *            End node of the inferred LEFT edge
 	 * @param ec
-	 *            Edge condition ({@link EdgeCondition}) of the LEFT edge
+	 *            Id of the edge condition ({@link EdgeCondition}) of the LEFT
+	 *            edge
 	 * @param useReverse
 	 *            Use the reverse of LEQ edge, since the negative LEQ edges are
 	 *            not explicitly represented in graph to save space
+	 * @param derived
+	 *            Inferred edges are appended to this list
 	 */
-	private void applyLeftLeq (Node from, Node mid , Node to , EdgeCondition ec, boolean useReverse) {
+	private void applyLeftLeq (Node from, Node mid , Node to , int ec, boolean useReverse, List<Derivation> derived) {
 		Node leqS = mid, leqE = to;
 		if (useReverse) {
 			leqS = to;
 			leqE = mid;
 		}
 		
-		if (ec != null && hasShortestLeft(from, mid, ec) 
+		if (hasShortestLeft(from, mid, ec) 
 				&& getShortestLeq (leqS, leqE) < MAX ) {
 			int newDis = getShortestLeft(from, mid, ec) + getShortestLeq(leqS, leqE);
 			int oldDis = MAX;
@@ -331,14 +879,8 @@ public class ShortestPathFinder extends CFLPathFinder {
 				oldDis = getShortestLeft(from, to, ec);
 			}
 			if (newDis < oldDis) {
-				setShortestLeft(from, to, ec, newDis);
-				List<Evidence> evi = new ArrayList<Evidence>();
-				evi.add(new Evidence(from, mid, ec));
-				if (!useReverse)
-					evi.add(new Evidence(mid, to, LeqCondition.getInstance()));
-				else
-					evi.add(new Evidence(mid, to, LeqRevCondition.getInstance()));
-				inferEdge(from, to, ec, newDis, evi, false);
+				int leq = useReverse ? ConditionTable.LEQ_REV : ConditionTable.LEQ;
+				derived.add(new Derivation(from, mid, to, conditions.get(ec), ec, newDis, ec, leq, false));
 			}
 		}
 	}	
@@ -356,82 +898,167 @@ public class ShortestPathFinder extends CFLPathFinder {
 	 * parameters, "meet" and "join" when id edges are inferred
 	 */
 	protected void saturation() {
-		Set<Node> allNodes = g.getAllNodes();
-		
 		int current_length = 0;
-//		int count = 1;
-//		long startTime = System.currentTimeMillis();
-		while (!queue.isEmpty()) {	
-			ReductionEdge edge = queue.poll();
-//			System.out.println(count++);
-//			startTime = System.currentTimeMillis();
+		while (true) {
+			// new nodes may match the conclusions of axioms before or after
+			// the edges in the worklist are processed
+			applyAxiomsToNewNodes();
+			// the graph is partially saturated when the budget is exhausted
+			if (queue.isEmpty() || budget.isExhausted())
+				break;
+			// all edges of the shortest length form a frontier
+			int length = queue.peek().getLength();
+			List<ReductionEdge> frontier = new ArrayList<ReductionEdge>();
+			while (!queue.isEmpty() && queue.peek().getLength() == length) {
+				ReductionEdge edge = queue.poll();
+				// a shorter derivation of the same edge has been processed
+				if (!isDominated(edge))
+					frontier.add(edge);
+			}
 			
-			if (edge instanceof LeqEdge)
-				tryAddingExtraEdges ((LeqEdge)edge);
+			assert (current_length <= length) : "Error: got a smaller edge "+ current_length + " " + length;
+			current_length = length;
 			
-			assert (current_length <= edge.getLength()) : "Error: got a smaller edge "+ current_length + " " + edge.getLength();
+			for (ReductionEdge edge : frontier) {
+				if (budget.isExhausted())
+					break;
+				if (edge instanceof LeqEdge)
+					tryAddingExtraEdges ((LeqEdge)edge);
+			}
 			
-			current_length = edge.getLength();
-									
-			Node from = edge.getFrom();
-			Node to = edge.getTo();
-				
-			for (Node iNode : allNodes) {
-//				if (iNode.equals(from) || iNode.equals(to))
-//					continue;
-				
-				// first, use the reduction edge as the left part of a reduction rule
-				if (edge instanceof LeqEdge) { 
-					// LEQ = LEQ LEQ
-					if ((!standardForm || (isDashedEdge(from) && isSolidEdge(to)))
-							&& hasAtomicLeqEdge(to.getIndex(), iNode.getIndex()))
-						applyLeqLeq(from, to, iNode);
+			// edges inferred by reduction rules are longer than the frontier,
+			// so they are added after the whole frontier is processed
+			for (List<Derivation> derived : expandFrontier(frontier)) {
+				for (Derivation d : derived)
+					addDerivation(d);
+			}
+		}
+		// gray nodes are added to the lookup tables when they are created
+		tabledNodes = g.getAllNodes().size();
+	}
+	
+	/**
+	 * Apply reduction rules to all edges in a frontier
+	 * 
+	 * @param frontier
+	 *            Edges of the same length
+	 * @return Edges inferred from each frontier edge, in the order of the
+	 *         frontier
+	 */
+	protected List<List<Derivation>> expandFrontier (List<ReductionEdge> frontier) {
+		List<List<Derivation>> ret = new ArrayList<List<Derivation>>(frontier.size());
+		for (ReductionEdge edge : frontier) {
+			List<Derivation> derived = new ArrayList<Derivation>();
+			applyReductionRules(edge, derived);
+			ret.add(derived);
+		}
+		return ret;
+	}
+	
+	/**
+	 * Apply all reduction rules where <code>edge</code> is either the left
+	 * part or the right part. The graph is not modified
+	 * 
+	 * @param edge
+	 *            An edge polled from the worklist
+	 * @param derived
+	 *            Inferred edges are appended to this list
+	 */
+	protected void applyReductionRules (ReductionEdge edge, List<Derivation> derived) {
+		Node from = edge.getFrom();
+		Node to = edge.getTo();
+		int fIndex = from.getIndex(), tIndex = to.getIndex();
+		
+		// Only neighbors of the reduction edge can fire a reduction rule,
+		// so they are enumerated from the adjacency lists
+		if (edge instanceof LeqEdge) {
+			// first, use the reduction edge as the left part of a reduction rule
+			// LEQ = LEQ LEQ
+			if (!standardForm || (isDashedEdge(from) && isSolidEdge(to))) {
+				int[] succs = inferredLR.getSuccessors(tIndex);
+				int count = inferredLR.getSuccessorCount(tIndex);
+				for (int i = 0; i < count; i++)
+					applyLeqLeq(from, to, g.getNode(succs[i]), derived);
+			}
+			
+			// second, use the reduction edge as the right part of a reduction rule
+			// LEQ = LEQ LEQ
+			if (standardForm) {
+				if (isSolidEdge(from) && hasAtomicLeqEdge(fIndex, tIndex)) {
+					int[] preds = shortestLEQ.getPredecessors(fIndex);
+					int count = shortestLEQ.getPredecessorCount(fIndex);
+					for (int i = 0; i < count; i++) {
+						Node iNode = g.getNode(preds[i]);
+						if (isDashedEdge(iNode))
+							applyLeqLeq(iNode, from, to, derived);
+					}
 				}
-				else if (edge instanceof LeftEdge) {
-					EdgeCondition ec = ((LeftEdge)edge).getCondition();
-					
-					// LEQ = LEFT RIGHT
-					if (hasRightEdges(to, iNode))
-						applyLeftRight(from, to, iNode, ec);
+			}
+			else {
+				int[] preds = inferredLR.getPredecessors(fIndex);
+				int count = inferredLR.getPredecessorCount(fIndex);
+				for (int i = 0; i < count; i++)
+					applyLeqLeq(g.getNode(preds[i]), from, to, derived);
+			}
 
-					// LEFT = LEFT LEQ (this reduction is redundant)
-					if (standardForm && hasAtomicLeqEdge(to.getIndex(), iNode.getIndex()))
-						applyLeftLeq(from, to, iNode, ec, ec.getVariance()==Variance.NEG);
-				}
-				
-				// second, use the reduction edge as the right part of a reduction rule
-				if (edge instanceof LeqEdge) {
-					// LEQ = LEQ LEQ
-					if (standardForm && isDashedEdge(iNode) && isSolidEdge(from)
-							&& hasAtomicLeqEdge(from.getIndex(), to.getIndex()))
-						applyLeqLeq(iNode, from, to);
-					else if (!standardForm && hasAtomicLeqEdge(iNode.getIndex(), from.getIndex()))
-						applyLeqLeq(iNode, from, to);
-	
-					// LEFT := LEFT LEQ
-					if (hasLeftEdge(iNode, from)) {
-						// FIXME: it seems that it makes no difference to make
-						// sure either LEFT or LEQ is atomic. But it turns out a test program 
-						// STUDENT08/20060408-23:13:58 takes longer to run.
-//						&& (!StandardForm || hasAtomicLeqEdge(from.getIndex(), to.getIndex()))) {
-						for (EdgeCondition ec : shortestLeft.get(iNode.getIndex()).get(from.getIndex()).keySet()) {
-							if (getShortestLeft(iNode, from, ec)==1)
-								applyLeftLeq(iNode, from, to, ec, ec.getVariance()==Variance.NEG);
-						}
+			// LEFT := LEFT LEQ
+			// FIXME: it seems that it makes no difference to make
+			// sure either LEFT or LEQ is atomic. But it turns out a test program 
+			// STUDENT08/20060408-23:13:58 takes longer to run.
+			int[] preds = shortestLeft.getPredecessors(fIndex);
+			int count = shortestLeft.getPredecessorCount(fIndex);
+			for (int i = 0; i < count; i++) {
+				Node iNode = g.getNode(preds[i]);
+				for (int e = shortestLeft.getFirstEntry(preds[i], fIndex); e >= 0; e = shortestLeft.getNextEntry(e)) {
+					if (shortestLeft.getDistance(e)==1) {
+						int label = shortestLeft.getLabel(e);
+						applyLeftLeq(iNode, from, to, label, conditions.get(label).getVariance()==Variance.NEG, derived);
 					}
 				}
-				
-				if (edge instanceof LeftEdge) {
-					EdgeCondition ec = ((LeftEdge)edge).getCondition();
-					Element cons = ec.getCon();
-					// LEQ = RIGHT LEFT
-					if (hasRightEdges(iNode, from) && cons instanceof Constructor 
-							&& ((Constructor)cons).getArity() == 1)
-						applyRightLeft(iNode, from, to, ec);
-				}
 			}
 		}
-//		System.out.println("Saturation is done");
+		else if (edge instanceof LeftEdge) {
+			EdgeCondition ec = ((LeftEdge)edge).getCondition();
+			int label = conditions.getId(ec);
+			
+			// first, use the reduction edge as the left part of a reduction rule
+			// LEQ = LEFT RIGHT
+			int[] succs = rightPath.getSuccessors(tIndex);
+			int count = rightPath.getSuccessorCount(tIndex);
+			for (int i = 0; i < count; i++)
+				applyLeftRight(from, to, g.getNode(succs[i]), label, derived);
+
+			// LEFT = LEFT LEQ (this reduction is redundant)
+			if (standardForm) {
+				succs = inferredLR.getSuccessors(tIndex);
+				count = inferredLR.getSuccessorCount(tIndex);
+				for (int i = 0; i < count; i++)
+					applyLeftLeq(from, to, g.getNode(succs[i]), label, ec.getVariance()==Variance.NEG, derived);
+			}
+			
+			// second, use the reduction edge as the right part of a reduction rule
+			// LEQ = RIGHT LEFT
+			Element cons = ec.getCon();
+			if (cons instanceof Constructor && ((Constructor)cons).getArity() == 1) {
+				int[] preds = rightPath.getPredecessors(fIndex);
+				count = rightPath.getPredecessorCount(fIndex);
+				for (int i = 0; i < count; i++)
+					applyRightLeft(g.getNode(preds[i]), from, to, label, derived);
+			}
+		}
+	}
+	
+	/**
+	 * @return True if a shorter edge of the same kind has been inferred on the
+	 *         end nodes of <code>edge</code>
+	 */
+	protected boolean isDominated (ReductionEdge edge) {
+		if (edge instanceof LeqEdge)
+			return getShortestLeq(edge.getFrom(), edge.getTo()) < edge.getLength();
+		else if (edge instanceof LeftEdge)
+			return getShortestLeft(edge.getFrom(), edge.getTo(), ((LeftEdge) edge).getCondition()) < edge.getLength();
+		else
+			return false;
 	}
 	
 	@Override
@@ -444,9 +1071,9 @@ public class ShortestPathFinder extends CFLPathFinder {
 	@Override
 	public Set<Node> getFlowsFrom(Node to) {
 		Set<Node> ret = new HashSet<Node>();
-		for (Integer idx : shortestLEQ.keySet()) {
-			if (shortestLEQ.get(idx).containsKey(to.getIndex()))
-				ret.add(getGraph().getNode(idx));
+		int[] preds = shortestLEQ.getPredecessors(to.getIndex());
+		for (int i = 0; i < shortestLEQ.getPredecessorCount(to.getIndex()); i++) {
+			ret.add(getGraph().getNode(preds[i]));
 		}
 		return ret;
 	}
@@ -454,14 +1081,24 @@ public class ShortestPathFinder extends CFLPathFinder {
 	@Override
 	public Set<Node> getFlowsTo(Node from) {
 		Set<Node> ret = new HashSet<Node>();
-		if (shortestLEQ.containsKey(from.getIndex())) {
-			for (Integer idx : shortestLEQ.get(from.getIndex()).keySet()) {
-				ret.add(getGraph().getNode(idx));
-			}
+		int[] succs = shortestLEQ.getSuccessors(from.getIndex());
+		for (int i = 0; i < shortestLEQ.getSuccessorCount(from.getIndex()); i++) {
+			ret.add(getGraph().getNode(succs[i]));
 		}
 		return ret;
 	}
 	
+	@Override
+	public Iterator<Node> getInferredSuccessors(Node from) {
+		List<Node> ret = new ArrayList<Node>();
+		int[] succs = shortestLEQ.getSuccessors(from.getIndex());
+		for (int i = 0; i < shortestLEQ.getSuccessorCount(from.getIndex()); i++) {
+			if (succs[i] != from.getIndex())
+				ret.add(getGraph().getNode(succs[i]));
+		}
+		return ret.iterator();
+	}
+	
 	@Override
 	public int leqEdgeLength(Node from, Node end) {
 		if (from.getElement().isBottom() || end.getElement().isTop())
@@ -474,11 +1111,7 @@ public class ShortestPathFinder extends CFLPathFinder {
 	
 	@Override
 	public boolean hasLeftEdge(Node from, Node to) {
-		if (shortestLeft.containsKey(from.getIndex()) && shortestLeft.get(from.getIndex()).containsKey(to.getIndex())
-				&& !shortestLeft.get(from.getIndex()).get(to.getIndex()).isEmpty())
-			return true;
-		else
-			return false;
+		return shortestLeft.contains(from.getIndex(), to.getIndex());
 	}
 	
 	/**
@@ -491,9 +1124,9 @@ public class ShortestPathFinder extends CFLPathFinder {
 		if (!hasLeftEdge(start, end))
 			return new ArrayList<List<Edge>>();
 		else {
-			for (EdgeCondition con : shortestLeft.get(start.getIndex()).get(end.getIndex()).keySet()) {
+			for (int e = shortestLeft.getFirstEntry(start.getIndex(), end.getIndex()); e >= 0; e = shortestLeft.getNextEntry(e)) {
 				List<Edge> lst = new ArrayList<Edge>();
-				getLeqPath(start, end, con, lst, false);
+				getLeqPath(start, end, conditions.get(shortestLeft.getLabel(e)), lst, false);
 				paths.add(lst);
 			}
 		}
@@ -502,15 +1135,48 @@ public class ShortestPathFinder extends CFLPathFinder {
 	
 	/**
 	 * Try to apply axioms that might utilized the newly added LeqEdge edge to
-	 * infer new edges in the graph
+	 * infer new edges in the graph. Only the matches of premises where the
+	 * edge is used are enumerated, since other matches are found when their
+	 * edges are processed
 	 */
 	private void applyAxioms (LeqEdge edge) {
+		for (Axiom rule : g.getRules())
+			applyAxiom(rule, rule.findMatchesInPremise(this, edge), true);
+	}
+	
+	/**
+	 * Match axioms when new nodes are created since the last time. All axioms
+	 * are matched against the whole graph once before saturation, since a
+	 * premise may be satisfied trivially (e.g., by a reflexive ordering, or
+	 * when the premise is empty) without any edge. Afterwards, the conclusions
+	 * of the premise matches found so far are applied to new nodes
+	 */
+	private void applyAxiomsToNewNodes () {
+		if (g.getRules().isEmpty() || axiomNodes == g.getAllNodes().size())
+			return;
+		boolean first = axiomNodes < 0;
+		axiomNodes = g.getAllNodes().size();
 		for (Axiom rule : g.getRules()) {
-			if (!rule.mayMatch(edge))
-				continue;
-			List<PremiseMatch> pmatches = rule.findMatchesInPremise(this);
-			
-			for (PremiseMatch pmatch : pmatches) {
+			if (first || !axiomMatches.containsKey(rule))
+				applyAxiom(rule, rule.findMatchesInPremise(this), true);
+			else
+				applyAxiom(rule, new ArrayList<PremiseMatch>(axiomMatches.get(rule)), false);
+		}
+	}
+	
+	/**
+	 * Infer the conclusion of an axiom for matches of its premise
+	 * 
+	 * @param isNew
+	 *            True if the matches are not recorded yet
+	 */
+	private void applyAxiom (Axiom rule, List<PremiseMatch> pmatches, boolean isNew) {
+		if (isNew && !pmatches.isEmpty()) {
+			if (!axiomMatches.containsKey(rule))
+				axiomMatches.put(rule, new ArrayList<PremiseMatch>());
+			axiomMatches.get(rule).addAll(pmatches);
+		}
+		for (PremiseMatch pmatch : pmatches) {
 			// apply all substitutions along the unification to conclusion
 			for (Inequality ieq : rule.getConclusion()) {
 				Element e1 = ieq.getFirstElement().subst(pmatch.map);
@@ -519,10 +1185,10 @@ public class ShortestPathFinder extends CFLPathFinder {
 				// expand new graph nodes when necessary
 				boolean needExpansion = actively_expanding && !e1.hasQVars() && !e2.hasQVars() && pmatch.noGrayNodes && (g.hasElement(e1) || g.hasElement(e2));
 				if (needExpansion) {
-					if (!g.hasElement(e1)) {
+					if (!g.hasElement(e1) && budget.spendGrayNode()) {
 						g.getNode(e1, true);
 					}
-					if (!g.hasElement(e2)) {
+					if (!g.hasElement(e2) && budget.spendGrayNode()) {
 						g.getNode(e2, true);
 					}
 				}
@@ -534,7 +1200,6 @@ public class ShortestPathFinder extends CFLPathFinder {
 						inferEdge(em.n2, em.n1, LeqCondition.getInstance(), pmatch.size, pmatch.evidences, true);
 				}
 			}
-			}
 		}
 	}
 	
@@ -559,12 +1224,16 @@ public class ShortestPathFinder extends CFLPathFinder {
 					for (Application nelem : nelems) {
 						if (g.hasElement(nelem))
 							continue;
+						if (!budget.spendGrayNode())
+							return;
 						Node newnode =  g.getNode(nelem, true);
 						trace.put(newnode, new HashSet<Edge>());
 						if (cplxNode.isGray())
 							trace.get(newnode).addAll(trace.get(cplxNode));
 						trace.get(newnode).add(edge);
 						initConsElements(nelem, newnode);
+						if (demanded != null)
+							demand(newnode);
 //						int size = getShortestLeq(n, subst);
 //						List<Evidence> evi = new ArrayList<Evidence>();
 //						Evidence e = new Evidence(n, subst, LeqCondition.getInstance());
@@ -585,7 +1254,7 @@ public class ShortestPathFinder extends CFLPathFinder {
 	 * Given a newly discovered LeqEdge, this function tries to identify extra
 	 * LeqEdges by using the properties of meet, join and constructor
 	 */
-	private void tryAddingExtraEdges (LeqEdge edge) {
+	protected void tryAddingExtraEdges (LeqEdge edge) {
 		Node from = edge.getFrom();
 		Node to = edge.getTo();
 		applyAxioms(edge);
@@ -598,17 +1267,10 @@ public class ShortestPathFinder extends CFLPathFinder {
 				Node candidate = from;
 				int candIndex = candidate.getIndex();
 				int meetIndex = meetnode.getIndex();
-				boolean success = true;
 				
 				if (hasLeqEdge(candidate, meetnode) || candIndex == meetIndex)
 					continue;
-				for (Element e : me.getElements()) {
-					if (!hasLeqEdge(candidate, g.getNode(e))) {
-						success = false;
-						break;
-					}
-				}
-				if (success) {
+				if (flowsIntoComponents(candidate, meetnode)) {
 					List<Evidence> evidences = new ArrayList<Evidence>();
 					int size = 0;
 					for (Element e : me.getElements()) {
@@ -634,17 +1296,10 @@ public class ShortestPathFinder extends CFLPathFinder {
 				Node candidate = to;
 				int candIndex = candidate.getIndex();
 				int joinIndex = joinnode.getIndex();
-				boolean success = true;
 
 				if (hasLeqEdge(joinnode, candidate) || joinIndex == candIndex)
 					continue;
-				for (Element e : je.getElements()) {
-					if (!hasLeqEdge(g.getNode(e), candidate)) {
-						success = false;
-						break;
-					}
-				}
-				if (success) {
+				if (componentsFlowInto(joinnode, candidate)) {
 					List<Evidence> evidences = new ArrayList<Evidence>();
 					int size = 0;
 					for (Element e : je.getElements()) {
@@ -668,26 +1323,21 @@ public class ShortestPathFinder extends CFLPathFinder {
 			expandOneNode(from, to, edge, true);
 			expandOneNode(to, from, edge, false);
 
-			if (consElements.containsKey(from) && consElements.containsKey(to)) {
+			if (consByHead.containsKey(from) && consByHead.containsKey(to)) {
+			Map<Element, List<Node>> toHeads = consByHead.get(to);
 			for (Node cnFrom : consElements.get(from)) {
-				for (Node cnTo : consElements.get(to)) {
+				// only applications of the same constructor (function) are paired
+				Element head = getHead((Application) cnFrom.getElement());
+				if (head == null || !toHeads.containsKey(head))
+					continue;
+				for (Node cnTo : toHeads.get(head)) {
 					// make sure this is "ce1", not the swapped one when the constructor is contravariant
 					// the elements can either be ConstructorApplication, or FunctionApplication
 					int arity;
-					if (cnFrom.getElement() instanceof ConstructorApplication && cnTo.getElement() instanceof ConstructorApplication) {
-						ConstructorApplication ce1 = (ConstructorApplication) cnFrom.getElement();
-						arity = ce1.getCons().getArity();
-						if (!ce1.getCons().equals(((ConstructorApplication)cnTo.getElement()).getCons()))
-							continue;
-					}
-					else if (cnFrom.getElement() instanceof FunctionApplication && cnTo.getElement() instanceof FunctionApplication) {
-						FunctionApplication fe1 = (FunctionApplication) cnFrom.getElement();
-						arity = fe1.getFunc().getArity();
-						if (!fe1.getFunc().equals(((FunctionApplication)cnTo.getElement()).getFunc()))
-							continue;
-					}
+					if (head instanceof Constructor)
+						arity = ((Constructor) head).getArity();
 					else
-						continue;
+						arity = ((Function) head).getArity();
 					
 					Application ce1 = (Application) cnFrom.getElement();
 					Application ce2 = (Application) cnTo.getElement();
@@ -707,26 +1357,9 @@ public class ShortestPathFinder extends CFLPathFinder {
 					// only infer new edges when none already exists
 					if ( (ltor && !hasLeqEdge(cnFrom, cnTo)) || (rtol && !hasLeqEdge(cnTo, cnFrom)) ) {
 						// check if all elements flows into another constructor
-						boolean success = true;
-
-						for (int i = 0; i < arity; i++) {
-							Element e1 = ce1.getElements().get(i);
-							Element e2 = ce2.getElements().get(i);
-							/* it seems we shouldn't test if e1 and e2 are Variables. But it breaks 2 ocaml test cases. Need to justify this change */
-							if (!hasLeqEdge(g.getNode(e1), g.getNode(e2)) /*|| e1 instanceof Variable || e2 instanceof Variable*/) {
-								success = false;
-								break;
-							}
-							// test the other direction for invariant parameters
-							if (ce1.getVariance().equals(Variance.NONE)) {
-								if (!hasLeqEdge(g.getNode(e2), g.getNode(e1))) {
-									success = false;
-									break;
-								}
-							}
-						}
-												
-						if (success) {
+						// (and the other way around for invariant parameters)
+						/* it seems we shouldn't test if e1 and e2 are Variables. But it breaks 2 ocaml test cases. Need to justify this change */
+						if (argumentsFlowInto(cnFrom, cnTo, arity, ce1.getVariance().equals(Variance.NONE))) {
 							List<Evidence> evidences = new ArrayList<Evidence>();
 							int size=0;
 							for (int i = 0; i < arity; i++) {
@@ -0,0 +1,45 @@
+package sherrloc.constraint.analysis;
+
+import sherrloc.graph.ReductionEdge;
+
+/**
+ * The interface for worklists used in graph saturation. A worklist returns
+ * {@link ReductionEdge}s in a non-decreasing order of their lengths, so that
+ * the first derivation of an edge is also the shortest one
+ */
+public interface WorkList {
+
+	/**
+	 * Add an edge to be processed
+	 * 
+	 * @param edge
+	 *            A newly inferred edge
+	 */
+	public void offer (ReductionEdge edge);
+	
+	/**
+	 * Remove and return a shortest edge in the worklist
+	 * 
+	 * @return A shortest edge in the worklist. Return null if the worklist is
+	 *         empty
+	 */
+	public ReductionEdge poll ();
+	
+	/**
+	 * Return a shortest edge in the worklist without removing it
+	 * 
+	 * @return A shortest edge in the worklist. Return null if the worklist is
+	 *         empty
+	 */
+	public ReductionEdge peek ();
+	
+	/**
+	 * @return True if there is no edge to be processed
+	 */
+	public boolean isEmpty ();
+	
+	/**
+	 * @return Number of edges in the worklist
+	 */
+	public int size ();
+}
@@ -158,7 +158,48 @@ public class Axiom {
 		return ret;
 	}
 	
-	public List<PremiseMatch> findMatchesInPremise (PathFinder finder) {		
+	/**
+	 * Return all substitutions that satisfy the premise in a saturated graph
+	 * 
+	 * @param finder
+	 *            A saturated constraint graph
+	 * @return All matches of the premise
+	 */
+	public List<PremiseMatch> findMatchesInPremise (PathFinder finder) {
+		return findMatchesInPremise(finder, null, null, null);
+	}
+	
+	/**
+	 * Return the substitutions that satisfy the premise, where at least one
+	 * inequality in the premise is satisfied by a new LEQ edge. Matches where
+	 * the edge is not used are found when other edges are new, so that each
+	 * new edge only enumerates the matches it contributes to (i.e., semi-naive
+	 * evaluation)
+	 * 
+	 * @param finder
+	 *            A saturated constraint graph
+	 * @param edge
+	 *            A new LEQ edge in the graph
+	 * @return Matches of the premise that use <code>edge</code>
+	 */
+	public List<PremiseMatch> findMatchesInPremise (PathFinder finder, LeqEdge edge) {
+		List<PremiseMatch> matches = new ArrayList<PremiseMatch>();
+		for (Inequality ieq : premise) {
+			matches.addAll(findMatchesInPremise(finder, ieq, edge.getFrom(), edge.getTo()));
+			// both directions of an equation are required, so the new edge
+			// can be either of them
+			if (ieq.r == Relation.EQ)
+				matches.addAll(findMatchesInPremise(finder, ieq, edge.getTo(), edge.getFrom()));
+		}
+		return matches;
+	}
+	
+	/**
+	 * Return the substitutions that satisfy the premise, where inequality
+	 * <code>bound</code> is matched by the nodes <code>from, to</code> only
+	 * (or all substitutions, when <code>bound</code> is null)
+	 */
+	private List<PremiseMatch> findMatchesInPremise (PathFinder finder, Inequality bound, Node from, Node to) {
 		List<PremiseMatch> matches = new ArrayList<PremiseMatch>();
 		
 		matches.add(new PremiseMatch(new HashMap<QuantifiedVariable, Element>(), 0, new ArrayList<Evidence>(), true)); // add an empty
@@ -167,7 +208,7 @@ public class Axiom {
 			List<PremiseMatch> newmatches = new ArrayList<PremiseMatch>();
 			while (!matches.isEmpty()) {
 				PremiseMatch pmatch = matches.remove(0);
-				List<EdgeMatch> lst = findMatches(ieq.e1, ieq.e2, finder, pmatch.map);
+				List<EdgeMatch> lst = ieq == bound ? matchEdge(ieq, from, to, pmatch.map) : findMatches(ieq.e1, ieq.e2, finder, pmatch.map);
 				boolean noGray = pmatch.noGrayNodes;
 
 				for (EdgeMatch match : lst) {
@@ -193,6 +234,18 @@ public class Axiom {
 		return matches;
 	}
 	
+	/**
+	 * Return the match of inequality <code>ieq</code> by the nodes
+	 * <code>from, to</code>, if their elements unify with the inequality
+	 */
+	private List<EdgeMatch> matchEdge (Inequality ieq, Node from, Node to, Map<QuantifiedVariable, Element> m) {
+		List<EdgeMatch> ret = new ArrayList<EdgeMatch>();
+		Map<QuantifiedVariable, Element> map = new HashMap<QuantifiedVariable, Element>(m);
+		if (ieq.e1.unifyWith(from.getElement(), map) && ieq.e2.unifyWith(to.getElement(), map))
+			ret.add(new EdgeMatch(from, to, map));
+		return ret;
+	}
+	
 	/**
 	 * Return a list of nodes in the graph that matches an element, which in
 	 * general, may contain quantified variables
@@ -213,8 +266,9 @@ public class Axiom {
 				ret.add(new NodeMatch(node,m));
 			}
 		} else {
-			// complex case. Need to try all nodes in the graph
-			for (Node n : g.getAllNodes()) {
+			// complex case. Need to try all nodes in the graph that are
+			// structurally compatible with the element
+			for (Node n : g.getCandidateNodes(e, m)) {
 				Map<QuantifiedVariable, Element> map = new HashMap<QuantifiedVariable, Element>();
 				map.putAll(m);
 				if (e.unifyWith(n.getElement(), map)) {
@@ -96,6 +96,26 @@ public class Hypothesis {
 		}
 	}
 	
+	/**
+	 * Add constraint elements from the corresponding constraint graph, after
+	 * hypothesis graphs may have been saturated. Saturated hypothesis graphs
+	 * are discarded when any element is new, since the elements are not
+	 * represented in these graphs
+	 * 
+	 * @param elements
+	 *            A set of elements
+	 */
+	public void addNewElements (Set<Element> elements) {
+		Set<Element> old = getElements();
+		for (Element ele : elements) {
+			if (!old.contains(ele.getBaseElement())) {
+				addElements(elements);
+				saturatedGraphs.clear();
+				return;
+			}
+		}
+	}
+	
 	/**
 	 * Add one constraint element
 	 * 
@@ -0,0 +1,932 @@
+/* The following code was generated by JFlex 1.3.5 on 10/16/26, 8:18 PM */
+
+package sherrloc.constraint.parse;
+import java_cup.runtime.*;
+            
+
+/**
+ * This class is a scanner generated by 
+ * <a href="http://www.jflex.de/">JFlex</a> 1.3.5
+ * on 10/16/26, 8:18 PM from the specification file
+ * <tt>file:/root/project/GenErrorDiagnostic/src/sherrloc/constraint/parse/constraint.flex</tt>
+ */
+public class GrmLexer implements java_cup.runtime.Scanner {
+
+  /** This character denotes the end of file */
+  final public static int YYEOF = -1;
+
+  /** initial size of the lookahead buffer */
+  final private static int YY_BUFFERSIZE = 16384;
+
+  /** lexical states */
+  final public static int INFO = 1;
+  final public static int YYINITIAL = 0;
+
+  /** 
+   * Translates characters to character classes
+   */
+  final private static String yycmap_packed = 
+    "\11\6\1\3\1\2\1\0\1\3\1\1\16\6\4\0\1\3\1\0"+
+    "\1\57\1\0\1\4\1\51\1\6\1\0\1\65\1\66\1\5\1\0"+
+    "\1\63\1\7\1\12\1\17\1\15\11\16\1\11\1\62\1\61\1\60"+
+    "\1\10\1\0\1\64\1\32\1\33\1\20\1\4\1\35\1\27\2\4"+
+    "\1\30\1\43\1\4\1\34\1\36\1\22\1\21\2\4\1\25\1\23"+
+    "\1\24\1\26\1\31\1\4\1\52\2\4\1\67\1\71\1\70\1\0"+
+    "\1\4\1\0\1\53\3\4\1\40\3\4\1\46\1\44\1\4\1\55"+
+    "\1\37\1\47\1\45\2\4\1\72\1\4\1\41\1\4\1\56\1\4"+
+    "\1\54\2\4\1\13\1\0\1\14\1\0\41\6\2\0\4\4\4\0"+
+    "\1\4\2\0\1\6\7\0\1\4\4\0\1\4\5\0\27\4\1\0"+
+    "\37\4\1\0\u01ca\4\4\0\14\4\16\0\5\4\7\0\1\4\1\0"+
+    "\1\4\21\0\160\6\5\4\1\0\2\4\2\0\4\4\1\0\1\4"+
+    "\6\0\1\4\1\0\3\4\1\0\1\4\1\0\24\4\1\0\123\4"+
+    "\1\0\213\4\1\0\5\6\2\0\246\4\1\0\46\4\2\0\1\4"+
+    "\6\0\51\4\6\0\1\4\1\0\55\6\1\0\1\6\1\0\2\6"+
+    "\1\0\2\6\1\0\1\6\10\0\33\4\4\0\4\4\15\0\6\6"+
+    "\5\0\1\4\4\0\13\6\1\0\1\6\3\0\53\4\37\6\4\0"+
+    "\2\4\1\6\143\4\1\0\1\4\10\6\1\0\6\6\2\4\2\6"+
+    "\1\0\4\6\2\4\12\6\3\4\2\0\1\4\17\0\1\6\1\4"+
+    "\1\6\36\4\33\6\2\0\131\4\13\6\1\4\16\0\12\6\41\4"+
+    "\11\6\2\4\4\0\1\4\2\0\1\6\30\4\4\6\1\4\11\6"+
+    "\1\4\3\6\1\4\5\6\22\0\31\4\3\6\4\0\13\4\65\0"+
+    "\25\4\1\0\22\4\13\0\61\6\66\4\3\6\1\4\22\6\1\4"+
+    "\7\6\12\4\2\6\2\0\12\6\1\0\20\4\3\6\1\0\10\4"+
+    "\2\0\2\4\2\0\26\4\1\0\7\4\1\0\1\4\3\0\4\4"+
+    "\2\0\1\6\1\4\7\6\2\0\2\6\2\0\3\6\1\4\10\0"+
+    "\1\6\4\0\2\4\1\0\3\4\2\6\2\0\12\6\4\4\7\0"+
+    "\2\4\1\0\1\6\2\0\3\6\1\0\6\4\4\0\2\4\2\0"+
+    "\26\4\1\0\7\4\1\0\2\4\1\0\2\4\1\0\2\4\2\0"+
+    "\1\6\1\0\5\6\4\0\2\6\2\0\3\6\3\0\1\6\7\0"+
+    "\4\4\1\0\1\4\7\0\14\6\3\4\1\6\13\0\3\6\1\0"+
+    "\11\4\1\0\3\4\1\0\26\4\1\0\7\4\1\0\2\4\1\0"+
+    "\5\4\2\0\1\6\1\4\10\6\1\0\3\6\1\0\3\6\2\0"+
+    "\1\4\17\0\2\4\2\6\2\0\12\6\1\0\1\4\7\0\1\4"+
+    "\6\6\1\0\3\6\1\0\10\4\2\0\2\4\2\0\26\4\1\0"+
+    "\7\4\1\0\2\4\1\0\5\4\2\0\1\6\1\4\7\6\2\0"+
+    "\2\6\2\0\3\6\7\0\3\6\4\0\2\4\1\0\3\4\2\6"+
+    "\2\0\12\6\1\0\1\4\20\0\1\6\1\4\1\0\6\4\3\0"+
+    "\3\4\1\0\4\4\3\0\2\4\1\0\1\4\1\0\2\4\3\0"+
+    "\2\4\3\0\3\4\3\0\14\4\4\0\5\6\3\0\3\6\1\0"+
+    "\4\6\2\0\1\4\6\0\1\6\16\0\12\6\11\0\1\4\6\0"+
+    "\5\6\10\4\1\0\3\4\1\0\27\4\1\0\20\4\3\0\1\4"+
+    "\7\6\1\0\3\6\1\0\4\6\7\0\2\6\1\0\3\4\5\0"+
+    "\2\4\2\6\2\0\12\6\20\0\1\4\3\6\1\0\10\4\1\0"+
+    "\3\4\1\0\27\4\1\0\12\4\1\0\5\4\2\0\1\6\1\4"+
+    "\7\6\1\0\3\6\1\0\4\6\7\0\2\6\7\0\1\4\1\0"+
+    "\2\4\2\6\2\0\12\6\1\0\2\4\15\0\4\6\11\4\1\0"+
+    "\3\4\1\0\51\4\2\6\1\4\7\6\1\0\3\6\1\0\4\6"+
+    "\1\4\5\0\3\4\1\6\7\0\3\4\2\6\2\0\12\6\12\0"+
+    "\6\4\1\0\3\6\1\0\22\4\3\0\30\4\1\0\11\4\1\0"+
+    "\1\4\2\0\7\4\3\0\1\6\4\0\6\6\1\0\1\6\1\0"+
+    "\10\6\6\0\12\6\2\0\2\6\15\0\60\4\1\6\2\4\7\6"+
+    "\4\0\10\4\10\6\1\0\12\6\47\0\2\4\1\0\1\4\1\0"+
+    "\5\4\1\0\30\4\1\0\1\4\1\0\12\4\1\6\2\4\11\6"+
+    "\1\4\2\0\5\4\1\0\1\4\1\0\6\6\2\0\12\6\2\0"+
+    "\4\4\40\0\1\4\27\0\2\6\6\0\12\6\13\0\1\6\1\0"+
+    "\1\6\1\0\1\6\4\0\2\6\10\4\1\0\44\4\4\0\24\6"+
+    "\1\0\2\6\5\4\13\6\1\0\44\6\11\0\1\6\71\0\53\4"+
+    "\24\6\1\4\12\6\6\0\6\4\4\6\4\4\3\6\1\4\3\6"+
+    "\2\4\7\6\3\4\4\6\15\4\14\6\1\4\17\6\2\0\46\4"+
+    "\1\0\1\4\5\0\1\4\2\0\53\4\1\0\u014d\4\1\0\4\4"+
+    "\2\0\7\4\1\0\1\4\1\0\4\4\2\0\51\4\1\0\4\4"+
+    "\2\0\41\4\1\0\4\4\2\0\7\4\1\0\1\4\1\0\4\4"+
+    "\2\0\17\4\1\0\71\4\1\0\4\4\2\0\103\4\2\0\3\6"+
+    "\40\0\20\4\20\0\126\4\2\0\6\4\3\0\u026c\4\2\0\21\4"+
+    "\1\0\32\4\5\0\113\4\3\0\13\4\7\0\15\4\1\0\4\4"+
+    "\3\6\13\0\22\4\3\6\13\0\22\4\2\6\14\0\15\4\1\0"+
+    "\3\4\1\0\2\6\14\0\64\4\40\6\3\0\1\4\3\0\2\4"+
+    "\1\6\2\0\12\6\41\0\4\6\1\0\12\6\6\0\131\4\7\0"+
+    "\5\4\2\6\42\4\1\6\1\4\5\0\106\4\12\0\37\4\1\0"+
+    "\14\6\4\0\14\6\12\0\12\6\36\4\2\0\5\4\13\0\54\4"+
+    "\4\0\32\4\6\0\12\6\46\0\27\4\5\6\4\0\65\4\12\6"+
+    "\1\0\35\6\2\0\13\6\6\0\12\6\15\0\1\4\10\0\16\6"+
+    "\1\0\2\6\77\0\5\6\57\4\21\6\7\4\4\0\12\6\21\0"+
+    "\11\6\14\0\3\6\36\4\15\6\2\4\12\6\54\4\16\6\14\0"+
+    "\44\4\24\6\10\0\12\6\3\0\3\4\12\6\44\4\2\0\11\4"+
+    "\7\0\53\4\2\0\3\4\20\0\3\6\1\0\25\6\4\4\1\6"+
+    "\6\4\1\6\2\4\3\6\1\4\5\0\300\4\72\6\1\0\5\6"+
+    "\u0116\4\2\0\6\4\2\0\46\4\2\0\6\4\2\0\10\4\1\0"+
+    "\1\4\1\0\1\4\1\0\1\4\1\0\37\4\2\0\65\4\1\0"+
+    "\7\4\1\0\1\4\3\0\3\4\1\0\7\4\3\0\4\4\2\0"+
+    "\6\4\4\0\15\4\5\0\3\4\1\0\7\4\16\0\5\6\32\0"+
+    "\5\6\20\0\2\4\23\0\1\4\13\0\5\6\1\0\12\6\1\0"+
+    "\1\4\15\0\1\4\20\0\15\4\3\0\40\4\20\0\15\6\4\0"+
+    "\1\6\3\0\14\6\21\0\1\4\4\0\1\4\2\0\12\4\1\0"+
+    "\1\4\3\0\5\4\6\0\1\4\1\0\1\4\1\0\1\4\1\0"+
+    "\4\4\1\0\13\4\2\0\4\4\5\0\5\4\4\0\1\4\21\0"+
+    "\51\4\u010a\0\1\42\1\50\u096b\0\57\4\1\0\57\4\1\0\205\4"+
+    "\6\0\4\4\3\6\2\4\14\0\46\4\1\0\1\4\5\0\1\4"+
+    "\2\0\70\4\7\0\1\4\17\0\1\6\27\4\11\0\7\4\1\0"+
+    "\7\4\1\0\7\4\1\0\7\4\1\0\7\4\1\0\7\4\1\0"+
+    "\7\4\1\0\7\4\1\0\40\6\57\0\1\4\u01d5\0\3\4\31\0"+
+    "\11\4\6\6\1\0\5\4\2\0\5\4\4\0\126\4\2\0\2\6"+
+    "\2\0\3\4\1\0\132\4\1\0\4\4\5\0\53\4\1\0\136\4"+
+    "\21\0\40\4\60\0\20\4\u0200\0\u19c0\4\100\0\u51fd\4\3\0\u048d\4"+
+    "\103\0\56\4\2\0\u010d\4\3\0\20\4\12\6\2\4\24\0\57\4"+
+    "\1\6\4\0\12\6\1\0\37\4\2\6\120\4\2\6\45\0\11\4"+
+    "\2\0\147\4\2\0\65\4\2\0\11\4\52\0\15\4\1\6\3\4"+
+    "\1\6\4\4\1\6\27\4\5\6\4\0\1\6\13\0\1\4\7\0"+
+    "\64\4\14\0\2\6\62\4\22\6\12\0\12\6\6\0\22\6\6\4"+
+    "\3\0\1\4\1\0\2\4\13\6\34\4\10\6\2\0\27\4\15\6"+
+    "\14\0\35\4\3\0\4\6\57\4\16\6\16\0\1\4\12\6\6\0"+
+    "\5\4\1\6\12\4\12\6\5\4\1\0\51\4\16\6\11\0\3\4"+
+    "\1\6\10\4\2\6\2\0\12\6\6\0\27\4\3\0\1\4\3\6"+
+    "\62\4\1\6\1\4\3\6\2\4\2\6\5\4\2\6\1\4\1\6"+
+    "\1\4\30\0\3\4\2\0\13\4\5\6\2\0\3\4\2\6\12\0"+
+    "\6\4\2\0\6\4\2\0\6\4\11\0\7\4\1\0\7\4\1\0"+
+    "\53\4\1\0\16\4\6\0\163\4\10\6\1\0\2\6\2\0\12\6"+
+    "\6\0\u2ba4\4\14\0\27\4\4\0\61\4\u2104\0\u016e\4\2\0\152\4"+
+    "\46\0\7\4\14\0\5\4\5\0\1\4\1\6\12\4\1\0\15\4"+
+    "\1\0\5\4\1\0\1\4\1\0\2\4\1\0\2\4\1\0\154\4"+
+    "\41\0\u016b\4\22\0\100\4\2\0\66\4\50\0\15\4\3\0\20\6"+
+    "\20\0\20\6\3\0\2\4\30\0\3\4\31\0\1\4\6\0\5\4"+
+    "\1\0\207\4\2\0\1\6\4\0\1\4\13\0\12\6\7\0\32\4"+
+    "\4\0\1\4\1\0\32\4\13\0\131\4\3\0\6\4\2\0\6\4"+
+    "\2\0\6\4\2\0\3\4\3\0\2\4\3\0\2\4\22\0\3\6"+
+    "\4\0";
+
+  /** 
+   * Translates characters to character classes
+   */
+  final private static char [] yycmap = yy_unpack_cmap(yycmap_packed);
+
+  /** 
+   * Translates a state to a row index in the transition table
+   */
+  final private static int yy_rowMap [] = { 
+        0,    59,   118,   177,   118,   236,   295,   354,   118,   118, 
+      118,   118,   118,   413,   472,   531,   590,   649,   708,   767, 
+      826,   118,   885,   944,   118,  1003,  1062,  1121,   118,  1180, 
+     1239,   118,   118,   118,   118,   118,   118,   118,  1298,   118, 
+     1357,   118,   118,  1416,  1475,  1534,  1593,  1652,  1711,  1770, 
+     1829,  1888,  1947,   118,  2006,  2065,   118,   118,   118,   118, 
+      118,   118,   118,   118,  2124,  2183,  2242,  2301,  2360,  2419, 
+     2478,  2537,  2596,  2655,  2714,  2773,  2832,  2891,  2950,  3009, 
+     3068,   236,   236,  3127,  3186,  3245,  3304,  3363,   236,   236, 
+     3422,  3481,  3540,  3599,  3658,  3717,  3776,   236,   236,  3835, 
+     3894,   236
+  };
+
+  /** 
+   * The packed transition table of the DFA (part 0)
+   */
+  final private static String yy_packed0 = 
+    "\1\3\1\4\2\5\2\6\1\3\1\7\1\10\1\11"+
+    "\1\12\1\13\1\14\1\15\1\16\1\17\1\20\6\6"+
+    "\1\21\1\6\1\22\1\23\3\6\1\24\1\25\2\6"+
+    "\1\26\1\27\1\30\3\6\1\31\1\32\1\6\1\33"+
+    "\1\6\1\34\1\6\1\35\1\36\1\37\1\40\1\41"+
+    "\1\42\1\43\1\44\1\45\1\46\1\3\1\6\1\47"+
+    "\2\3\54\47\1\50\11\47\1\51\1\47\75\0\1\5"+
+    "\74\0\13\6\1\0\22\6\1\0\5\6\2\0\5\6"+
+    "\13\0\1\6\10\0\1\52\142\0\1\53\27\0\2\16"+
+    "\61\0\1\54\11\0\1\55\57\0\13\6\1\0\1\6"+
+    "\1\56\20\6\1\0\5\6\2\0\5\6\13\0\1\6"+
+    "\4\0\13\6\1\0\6\6\1\57\13\6\1\0\5\6"+
+    "\2\0\5\6\13\0\1\6\4\0\13\6\1\0\12\6"+
+    "\1\60\7\6\1\0\5\6\2\0\5\6\13\0\1\6"+
+    "\4\0\13\6\1\0\22\6\1\0\5\6\2\0\1\61"+
+    "\4\6\13\0\1\6\4\0\13\6\1\0\15\6\1\62"+
+    "\4\6\1\0\5\6\2\0\5\6\13\0\1\6\4\0"+
+    "\13\6\1\0\20\6\1\63\1\6\1\0\5\6\2\0"+
+    "\5\6\13\0\1\6\4\0\13\6\1\0\1\6\1\64"+
+    "\20\6\1\0\5\6\2\0\5\6\13\0\1\6\4\0"+
+    "\13\6\1\0\22\6\1\0\2\6\1\65\2\6\2\0"+
+    "\5\6\13\0\1\6\51\0\1\66\25\0\13\6\1\0"+
+    "\22\6\1\0\5\6\2\0\2\6\1\67\2\6\13\0"+
+    "\1\6\4\0\13\6\1\0\20\6\1\70\1\6\1\0"+
+    "\5\6\2\0\5\6\13\0\1\6\10\0\1\71\47\0"+
+    "\1\72\21\0\1\73\50\0\1\74\12\0\1\47\2\0"+
+    "\54\47\1\0\11\47\1\0\1\47\41\0\1\75\5\0"+
+    "\1\76\7\0\1\77\12\0\1\100\5\101\1\102\65\101"+
+    "\1\55\1\4\1\5\70\55\4\0\13\6\1\0\2\6"+
+    "\1\103\17\6\1\0\5\6\2\0\5\6\13\0\1\6"+
+    "\4\0\13\6\1\0\2\6\1\104\17\6\1\0\5\6"+
+    "\2\0\5\6\13\0\1\6\4\0\13\6\1\0\5\6"+
+    "\1\105\14\6\1\0\5\6\2\0\5\6\13\0\1\6"+
+    "\4\0\13\6\1\0\10\6\1\106\11\6\1\0\5\6"+
+    "\2\0\5\6\13\0\1\6\4\0\13\6\1\0\15\6"+
+    "\1\107\4\6\1\0\5\6\2\0\5\6\13\0\1\6"+
+    "\4\0\13\6\1\0\20\6\1\110\1\6\1\0\5\6"+
+    "\2\0\5\6\13\0\1\6\4\0\13\6\1\0\10\6"+
+    "\1\111\11\6\1\0\5\6\2\0\5\6\13\0\1\6"+
+    "\4\0\13\6\1\0\22\6\1\0\3\6\1\112\1\6"+
+    "\2\0\5\6\13\0\1\6\4\0\13\6\1\0\22\6"+
+    "\1\0\3\6\1\113\1\6\2\0\5\6\13\0\1\6"+
+    "\4\0\13\6\1\0\22\6\1\0\5\6\2\0\4\6"+
+    "\1\114\13\0\1\6\5\101\1\115\65\101\5\0\1\102"+
+    "\11\0\1\5\57\0\13\6\1\0\3\6\1\116\16\6"+
+    "\1\0\5\6\2\0\5\6\13\0\1\6\4\0\13\6"+
+    "\1\0\1\117\21\6\1\0\5\6\2\0\5\6\13\0"+
+    "\1\6\4\0\13\6\1\0\10\6\1\120\11\6\1\0"+
+    "\5\6\2\0\5\6\13\0\1\6\4\0\13\6\1\0"+
+    "\1\6\1\121\20\6\1\0\5\6\2\0\5\6\13\0"+
+    "\1\6\4\0\13\6\1\0\4\6\1\122\15\6\1\0"+
+    "\5\6\2\0\5\6\13\0\1\6\4\0\13\6\1\0"+
+    "\21\6\1\122\1\0\5\6\2\0\5\6\13\0\1\6"+
+    "\4\0\13\6\1\0\2\6\1\123\17\6\1\0\5\6"+
+    "\2\0\5\6\13\0\1\6\4\0\13\6\1\0\22\6"+
+    "\1\0\4\6\1\123\2\0\5\6\13\0\1\6\4\0"+
+    "\13\6\1\0\22\6\1\0\2\6\1\124\2\6\2\0"+
+    "\5\6\13\0\1\6\4\0\13\6\1\0\20\6\1\125"+
+    "\1\6\1\0\5\6\2\0\5\6\13\0\1\6\5\101"+
+    "\1\115\11\101\1\5\53\101\4\0\13\6\1\0\4\6"+
+    "\1\126\15\6\1\0\5\6\2\0\5\6\13\0\1\6"+
+    "\4\0\13\6\1\0\4\6\1\127\15\6\1\0\5\6"+
+    "\2\0\5\6\13\0\1\6\4\0\13\6\1\0\12\6"+
+    "\1\130\7\6\1\0\5\6\2\0\5\6\13\0\1\6"+
+    "\4\0\13\6\1\0\16\6\1\131\3\6\1\0\5\6"+
+    "\2\0\5\6\13\0\1\6\4\0\13\6\1\0\17\6"+
+    "\1\131\2\6\1\0\5\6\2\0\5\6\13\0\1\6"+
+    "\4\0\13\6\1\0\22\6\1\0\5\6\2\0\3\6"+
+    "\1\132\1\6\13\0\1\6\4\0\13\6\1\0\5\6"+
+    "\1\133\14\6\1\0\5\6\2\0\5\6\13\0\1\6"+
+    "\4\0\13\6\1\0\10\6\1\134\11\6\1\0\5\6"+
+    "\2\0\5\6\13\0\1\6\4\0\13\6\1\0\13\6"+
+    "\1\135\6\6\1\0\5\6\2\0\5\6\13\0\1\6"+
+    "\4\0\13\6\1\0\6\6\1\136\13\6\1\0\5\6"+
+    "\2\0\5\6\13\0\1\6\4\0\13\6\1\0\1\6"+
+    "\1\137\20\6\1\0\5\6\2\0\5\6\13\0\1\6"+
+    "\4\0\13\6\1\0\14\6\1\140\5\6\1\0\5\6"+
+    "\2\0\5\6\13\0\1\6\4\0\13\6\1\0\1\141"+
+    "\21\6\1\0\5\6\2\0\5\6\13\0\1\6\4\0"+
+    "\13\6\1\0\2\6\1\142\17\6\1\0\5\6\2\0"+
+    "\5\6\13\0\1\6\4\0\13\6\1\0\15\6\1\143"+
+    "\4\6\1\0\5\6\2\0\5\6\13\0\1\6\4\0"+
+    "\13\6\1\0\4\6\1\144\15\6\1\0\5\6\2\0"+
+    "\5\6\13\0\1\6\4\0\13\6\1\0\1\6\1\145"+
+    "\20\6\1\0\5\6\2\0\5\6\13\0\1\6\4\0"+
+    "\13\6\1\0\5\6\1\146\14\6\1\0\5\6\2\0"+
+    "\5\6\13\0\1\6";
+
+  /** 
+   * The transition table of the DFA
+   */
+  final private static int yytrans [] = yy_unpack();
+
+
+  /* error codes */
+  final private static int YY_UNKNOWN_ERROR = 0;
+  final private static int YY_ILLEGAL_STATE = 1;
+  final private static int YY_NO_MATCH = 2;
+  final private static int YY_PUSHBACK_2BIG = 3;
+
+  /* error messages for the codes above */
+  final private static String YY_ERROR_MSG[] = {
+    "Unkown internal scanner error",
+    "Internal error: unknown state",
+    "Error: could not match input",
+    "Error: pushback value was too large"
+  };
+
+  /**
+   * YY_ATTRIBUTE[aState] contains the attributes of state <code>aState</code>
+   */
+  private final static byte YY_ATTRIBUTE[] = {
+     0,  0,  9,  1,  9,  1,  1,  1,  9,  9,  9,  9,  9,  1,  1,  1, 
+     1,  1,  1,  1,  1,  9,  1,  1,  9,  1,  1,  1,  9,  1,  1,  9, 
+     9,  9,  9,  9,  9,  9,  1,  9,  1,  9,  9,  0,  0,  1,  1,  1, 
+     1,  1,  1,  1,  1,  9,  1,  1,  9,  9,  9,  9,  9,  9,  9,  9, 
+     0,  0,  1,  1,  1,  1,  1,  1,  1,  1,  1,  1,  0,  1,  1,  1, 
+     1,  1,  1,  1,  1,  1,  1,  1,  1,  1,  1,  1,  1,  1,  1,  1, 
+     1,  1,  1,  1,  1,  1
+  };
+
+  /** the input device */
+  private java.io.Reader yy_reader;
+
+  /** the current state of the DFA */
+  private int yy_state;
+
+  /** the current lexical state */
+  private int yy_lexical_state = YYINITIAL;
+
+  /** this buffer contains the current text to be matched and is
+      the source of the yytext() string */
+  private char yy_buffer[] = new char[YY_BUFFERSIZE];
+
+  /** the textposition at the last accepting state */
+  private int yy_markedPos;
+
+  /** the textposition at the last state to be included in yytext */
+  private int yy_pushbackPos;
+
+  /** the current text position in the buffer */
+  private int yy_currentPos;
+
+  /** startRead marks the beginning of the yytext() string in the buffer */
+  private int yy_startRead;
+
+  /** endRead marks the last character in the buffer, that has been read
+      from input */
+  private int yy_endRead;
+
+  /** number of newlines encountered up to the start of the matched text */
+  private int yyline;
+
+  /** the number of characters up to the start of the matched text */
+  private int yychar;
+
+  /**
+   * the number of characters from the last newline up to the start of the 
+   * matched text
+   */
+  private int yycolumn; 
+
+  /** 
+   * yy_atBOL == true <=> the scanner is currently at the beginning of a line
+   */
+  private boolean yy_atBOL = true;
+
+  /** yy_atEOF == true <=> the scanner is at the EOF */
+  private boolean yy_atEOF;
+
+  /** denotes if the user-EOF-code has already been executed */
+  private boolean yy_eof_done;
+
+  /* user code: */
+  StringBuffer string = new StringBuffer();
+
+  private Symbol symbol(int type) {
+    return new Symbol(type, yyline, yycolumn);
+  }
+  private Symbol symbol(int type, Object value) {
+    return new Symbol(type, yyline, yycolumn, value);
+  }
+
+
+  /**
+   * Creates a new scanner
+   * There is also a java.io.InputStream version of this constructor.
+   *
+   * @param   in  the java.io.Reader to read input from.
+   */
+  public GrmLexer(java.io.Reader in) {
+    this.yy_reader = in;
+  }
+
+  /**
+   * Creates a new scanner.
+   * There is also java.io.Reader version of this constructor.
+   *
+   * @param   in  the java.io.Inputstream to read input from.
+   */
+  public GrmLexer(java.io.InputStream in) {
+    this(new java.io.InputStreamReader(in));
+  }
+
+  /** 
+   * Unpacks the split, compressed DFA transition table.
+   *
+   * @return the unpacked transition table
+   */
+  private static int [] yy_unpack() {
+    int [] trans = new int[3953];
+    int offset = 0;
+    offset = yy_unpack(yy_packed0, offset, trans);
+    return trans;
+  }
+
+  /** 
+   * Unpacks the compressed DFA transition table.
+   *
+   * @param packed   the packed transition table
+   * @return         the index of the last entry
+   */
+  private static int yy_unpack(String packed, int offset, int [] trans) {
+    int i = 0;       /* index in packed string  */
+    int j = offset;  /* index in unpacked array */
+    int l = packed.length();
+    while (i < l) {
+      int count = packed.charAt(i++);
+      int value = packed.charAt(i++);
+      value--;
+      do trans[j++] = value; while (--count > 0);
+    }
+    return j;
+  }
+
+  /** 
+   * Unpacks the compressed character translation table.
+   *
+   * @param packed   the packed character translation table
+   * @return         the unpacked character translation table
+   */
+  private static char [] yy_unpack_cmap(String packed) {
+    char [] map = new char[0x10000];
+    int i = 0;  /* index in packed string  */
+    int j = 0;  /* index in unpacked array */
+    while (i < 2322) {
+      int  count = packed.charAt(i++);
+      char value = packed.charAt(i++);
+      do map[j++] = value; while (--count > 0);
+    }
+    return map;
+  }
+
+
+  /**
+   * Refills the input buffer.
+   *
+   * @return      <code>false</code>, iff there was new input.
+   * 
+   * @exception   IOException  if any I/O-Error occurs
+   */
+  private boolean yy_refill() throws java.io.IOException {
+
+    /* first: make room (if you can) */
+    if (yy_startRead > 0) {
+      System.arraycopy(yy_buffer, yy_startRead, 
+                       yy_buffer, 0, 
+                       yy_endRead-yy_startRead);
+
+      /* translate stored positions */
+      yy_endRead-= yy_startRead;
+      yy_currentPos-= yy_startRead;
+      yy_markedPos-= yy_startRead;
+      yy_pushbackPos-= yy_startRead;
+      yy_startRead = 0;
+    }
+
+    /* is the buffer big enough? */
+    if (yy_currentPos >= yy_buffer.length) {
+      /* if not: blow it up */
+      char newBuffer[] = new char[yy_currentPos*2];
+      System.arraycopy(yy_buffer, 0, newBuffer, 0, yy_buffer.length);
+      yy_buffer = newBuffer;
+    }
+
+    /* finally: fill the buffer with new input */
+    int numRead = yy_reader.read(yy_buffer, yy_endRead, 
+                                            yy_buffer.length-yy_endRead);
+
+    if (numRead < 0) {
+      return true;
+    }
+    else {
+      yy_endRead+= numRead;  
+      return false;
+    }
+  }
+
+
+  /**
+   * Closes the input stream.
+   */
+  final public void yyclose() throws java.io.IOException {
+    yy_atEOF = true;            /* indicate end of file */
+    yy_endRead = yy_startRead;  /* invalidate buffer    */
+
+    if (yy_reader != null)
+      yy_reader.close();
+  }
+
+
+  /**
+   * Closes the current stream, and resets the
+   * scanner to read from a new input stream.
+   *
+   * All internal variables are reset, the old input stream 
+   * <b>cannot</b> be reused (internal buffer is discarded and lost).
+   * Lexical state is set to <tt>YY_INITIAL</tt>.
+   *
+   * @param reader   the new input stream 
+   */
+  final public void yyreset(java.io.Reader reader) throws java.io.IOException {
+    yyclose();
+    yy_reader = reader;
+    yy_atBOL  = true;
+    yy_atEOF  = false;
+    yy_endRead = yy_startRead = 0;
+    yy_currentPos = yy_markedPos = yy_pushbackPos = 0;
+    yyline = yychar = yycolumn = 0;
+    yy_lexical_state = YYINITIAL;
+  }
+
+
+  /**
+   * Returns the current lexical state.
+   */
+  final public int yystate() {
+    return yy_lexical_state;
+  }
+
+
+  /**
+   * Enters a new lexical state
+   *
+   * @param newState the new lexical state
+   */
+  final public void yybegin(int newState) {
+    yy_lexical_state = newState;
+  }
+
+
+  /**
+   * Returns the text matched by the current regular expression.
+   */
+  final public String yytext() {
+    return new String( yy_buffer, yy_startRead, yy_markedPos-yy_startRead );
+  }
+
+
+  /**
+   * Returns the character at position <tt>pos</tt> from the 
+   * matched text. 
+   * 
+   * It is equivalent to yytext().charAt(pos), but faster
+   *
+   * @param pos the position of the character to fetch. 
+   *            A value from 0 to yylength()-1.
+   *
+   * @return the character at position pos
+   */
+  final public char yycharat(int pos) {
+    return yy_buffer[yy_startRead+pos];
+  }
+
+
+  /**
+   * Returns the length of the matched text region.
+   */
+  final public int yylength() {
+    return yy_markedPos-yy_startRead;
+  }
+
+
+  /**
+   * Reports an error that occured while scanning.
+   *
+   * In a wellformed scanner (no or only correct usage of 
+   * yypushback(int) and a match-all fallback rule) this method 
+   * will only be called with things that "Can't Possibly Happen".
+   * If this method is called, something is seriously wrong
+   * (e.g. a JFlex bug producing a faulty scanner etc.).
+   *
+   * Usual syntax/scanner level error handling should be done
+   * in error fallback rules.
+   *
+   * @param   errorCode  the code of the errormessage to display
+   */
+  private void yy_ScanError(int errorCode) {
+    String message;
+    try {
+      message = YY_ERROR_MSG[errorCode];
+    }
+    catch (ArrayIndexOutOfBoundsException e) {
+      message = YY_ERROR_MSG[YY_UNKNOWN_ERROR];
+    }
+
+    throw new Error(message);
+  } 
+
+
+  /**
+   * Pushes the specified amount of characters back into the input stream.
+   *
+   * They will be read again by then next call of the scanning method
+   *
+   * @param number  the number of characters to be read again.
+   *                This number must not be greater than yylength()!
+   */
+  private void yypushback(int number)  {
+    if ( number > yylength() )
+      yy_ScanError(YY_PUSHBACK_2BIG);
+
+    yy_markedPos -= number;
+  }
+
+
+  /**
+   * Contains user EOF-code, which will be executed exactly once,
+   * when the end of file is reached
+   */
+  private void yy_do_eof() throws java.io.IOException {
+    if (!yy_eof_done) {
+      yy_eof_done = true;
+      yyclose();
+    }
+  }
+
+
+  /**
+   * Resumes scanning until the next regular expression is matched,
+   * the end of input is encountered or an I/O-Error occurs.
+   *
+   * @return      the next token
+   * @exception   IOException  if any I/O-Error occurs
+   */
+  public java_cup.runtime.Symbol next_token() throws java.io.IOException {
+    int yy_input;
+    int yy_action;
+
+    // cached fields:
+    int yy_currentPos_l;
+    int yy_startRead_l;
+    int yy_markedPos_l;
+    int yy_endRead_l = yy_endRead;
+    char [] yy_buffer_l = yy_buffer;
+    char [] yycmap_l = yycmap;
+
+    int [] yytrans_l = yytrans;
+    int [] yy_rowMap_l = yy_rowMap;
+    byte [] yy_attr_l = YY_ATTRIBUTE;
+
+    while (true) {
+      yy_markedPos_l = yy_markedPos;
+
+      boolean yy_r = false;
+      for (yy_currentPos_l = yy_startRead; yy_currentPos_l < yy_markedPos_l;
+                                                             yy_currentPos_l++) {
+        switch (yy_buffer_l[yy_currentPos_l]) {
+        case '\u000B':
+        case '\u000C':
+        case '\u0085':
+        case '\u2028':
+        case '\u2029':
+          yyline++;
+          yycolumn = 0;
+          yy_r = false;
+          break;
+        case '\r':
+          yyline++;
+          yycolumn = 0;
+          yy_r = true;
+          break;
+        case '\n':
+          if (yy_r)
+            yy_r = false;
+          else {
+            yyline++;
+            yycolumn = 0;
+          }
+          break;
+        default:
+          yy_r = false;
+          yycolumn++;
+        }
+      }
+
+      if (yy_r) {
+        // peek one character ahead if it is \n (if we have counted one line too much)
+        boolean yy_peek;
+        if (yy_markedPos_l < yy_endRead_l)
+          yy_peek = yy_buffer_l[yy_markedPos_l] == '\n';
+        else if (yy_atEOF)
+          yy_peek = false;
+        else {
+          boolean eof = yy_refill();
+          yy_markedPos_l = yy_markedPos;
+          yy_buffer_l = yy_buffer;
+          if (eof) 
+            yy_peek = false;
+          else 
+            yy_peek = yy_buffer_l[yy_markedPos_l] == '\n';
+        }
+        if (yy_peek) yyline--;
+      }
+      yy_action = -1;
+
+      yy_startRead_l = yy_currentPos_l = yy_currentPos = 
+                       yy_startRead = yy_markedPos_l;
+
+      yy_state = yy_lexical_state;
+
+
+      yy_forAction: {
+        while (true) {
+
+          if (yy_currentPos_l < yy_endRead_l)
+            yy_input = yy_buffer_l[yy_currentPos_l++];
+          else if (yy_atEOF) {
+            yy_input = YYEOF;
+            break yy_forAction;
+          }
+          else {
+            // store back cached positions
+            yy_currentPos  = yy_currentPos_l;
+            yy_markedPos   = yy_markedPos_l;
+            boolean eof = yy_refill();
+            // get translated positions and possibly new buffer
+            yy_currentPos_l  = yy_currentPos;
+            yy_markedPos_l   = yy_markedPos;
+            yy_buffer_l      = yy_buffer;
+            yy_endRead_l     = yy_endRead;
+            if (eof) {
+              yy_input = YYEOF;
+              break yy_forAction;
+            }
+            else {
+              yy_input = yy_buffer_l[yy_currentPos_l++];
+            }
+          }
+          int yy_next = yytrans_l[ yy_rowMap_l[yy_state] + yycmap_l[yy_input] ];
+          if (yy_next == -1) break yy_forAction;
+          yy_state = yy_next;
+
+          int yy_attributes = yy_attr_l[yy_state];
+          if ( (yy_attributes & 1) == 1 ) {
+            yy_action = yy_state; 
+            yy_markedPos_l = yy_currentPos_l; 
+            if ( (yy_attributes & 8) == 8 ) break yy_forAction;
+          }
+
+        }
+      }
+
+      // store back cached position
+      yy_markedPos = yy_markedPos_l;
+
+      switch (yy_action) {
+
+        case 28: 
+          {  string.setLength(0); yybegin(INFO);  }
+        case 103: break;
+        case 2: 
+        case 7: 
+        case 14: 
+        case 25: 
+        case 29: 
+        case 30: 
+          {  throw new Error("Illegal character <"+ yytext()+">"+" at line "+yyline+" column "+yycolumn);  }
+        case 104: break;
+        case 35: 
+          {  return symbol(sym.RPAREN);  }
+        case 105: break;
+        case 34: 
+          {  return symbol(sym.LPAREN);  }
+        case 106: break;
+        case 10: 
+          {  return symbol(sym.LBRACE);  }
+        case 107: break;
+        case 11: 
+          {  return symbol(sym.RBRACE);  }
+        case 108: break;
+        case 36: 
+          {  return symbol(sym.LBRACK);  }
+        case 109: break;
+        case 37: 
+          {  return symbol(sym.RBRACK);  }
+        case 110: break;
+        case 38: 
+          {  string.append( yytext() );  }
+        case 111: break;
+        case 56: 
+          {  return symbol(sym.IMPLIES);  }
+        case 112: break;
+        case 58: 
+          {  return symbol(sym.LARROW);  }
+        case 113: break;
+        case 101: 
+          {  return symbol(sym.CONSTRUCTOR);  }
+        case 114: break;
+        case 53: 
+          {  return symbol(sym.SEPERATION);  }
+        case 115: break;
+        case 98: 
+          {  return symbol(sym.VARIABLE);  }
+        case 116: break;
+        case 97: 
+          {  return symbol(sym.FUNCTION);  }
+        case 117: break;
+        case 31: 
+          {  return symbol(sym.SEMICOLON);  }
+        case 118: break;
+        case 33: 
+          {  return symbol(sym.AT);  }
+        case 119: break;
+        case 3: 
+        case 4: 
+          {  /* ignore */  }
+        case 120: break;
+        case 9: 
+          {  return symbol(sym.DOT);  }
+        case 121: break;
+        case 42: 
+          {  return symbol(sym.GEQ);  }
+        case 122: break;
+        case 57: 
+          {  return symbol(sym.EQ);  }
+        case 123: break;
+        case 59: 
+          {  return symbol(sym.LEQ);  }
+        case 124: break;
+        case 39: 
+          {  yybegin(YYINITIAL); 
+                                     return symbol(sym.STRING_LITERAL, 
+                                     string.toString());  }
+        case 125: break;
+        case 89: 
+          {  return symbol(sym.LEVEL);  }
+        case 126: break;
+        case 88: 
+          {  return symbol(sym.AXIOM);  }
+        case 127: break;
+        case 32: 
+          {  return symbol(sym.COMMA);  }
+        case 128: break;
+        case 24: 
+          {  return symbol(sym.JOIN);  }
+        case 129: break;
+        case 21: 
+          {  return symbol(sym.MEET);  }
+        case 130: break;
+        case 6: 
+          {  return symbol(sym.DASH);  }
+        case 131: break;
+        case 8: 
+          {  return symbol(sym.COLON);  }
+        case 132: break;
+        case 41: 
+          {  return symbol(sym.ARROW);  }
+        case 133: break;
+        case 81: 
+          {  return symbol(sym.MEET);  }
+        case 134: break;
+        case 82: 
+          {  return symbol(sym.JOIN);  }
+        case 135: break;
+        case 40: 
+          {  string.append('\\');  }
+        case 136: break;
+        case 60: 
+          {  string.append('\t');  }
+        case 137: break;
+        case 61: 
+          {  string.append('\n');  }
+        case 138: break;
+        case 62: 
+          {  string.append('\"');  }
+        case 139: break;
+        case 63: 
+          {  string.append('\r');  }
+        case 140: break;
+        case 12: 
+        case 13: 
+          {  return symbol(sym.INTEGER_LITERAL, new Integer(yytext()));  }
+        case 141: break;
+        case 5: 
+        case 15: 
+        case 16: 
+        case 17: 
+        case 18: 
+        case 19: 
+        case 20: 
+        case 22: 
+        case 23: 
+        case 26: 
+        case 27: 
+        case 45: 
+        case 46: 
+        case 47: 
+        case 48: 
+        case 49: 
+        case 50: 
+        case 51: 
+        case 52: 
+        case 54: 
+        case 55: 
+        case 66: 
+        case 67: 
+        case 68: 
+        case 69: 
+        case 70: 
+        case 71: 
+        case 72: 
+        case 73: 
+        case 74: 
+        case 75: 
+        case 77: 
+        case 78: 
+        case 79: 
+        case 80: 
+        case 83: 
+        case 84: 
+        case 85: 
+        case 86: 
+        case 87: 
+        case 90: 
+        case 91: 
+        case 92: 
+        case 93: 
+        case 94: 
+        case 95: 
+        case 96: 
+        case 99: 
+        case 100: 
+          {  return symbol(sym.IDENTIFIER, yytext());  }
+        case 142: break;
+        default: 
+          if (yy_input == YYEOF && yy_startRead == yy_currentPos) {
+            yy_atEOF = true;
+            yy_do_eof();
+              { return new java_cup.runtime.Symbol(sym.EOF); }
+          } 
+          else {
+            yy_ScanError(YY_NO_MATCH);
+          }
+      }
+    }
+  }
+
+
+}
@@ -0,0 +1,1309 @@
+
+//----------------------------------------------------
+// The following code was generated by CUP v0.11a beta 20060608
+// Sat Oct 17 08:06:13 UTC 2026
+//----------------------------------------------------
+
+package sherrloc.constraint.parse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import sherrloc.constraint.ast.Axiom;
+import sherrloc.constraint.ast.Bottom;
+import sherrloc.constraint.ast.Constraint;
+import sherrloc.constraint.ast.Function;
+import sherrloc.constraint.ast.Inequality;
+import sherrloc.constraint.ast.Constructor;
+import sherrloc.constraint.ast.ConstructorApplication;
+import sherrloc.constraint.ast.FunctionApplication;
+import sherrloc.constraint.ast.VariableApplication;
+import sherrloc.constraint.ast.Element;
+import sherrloc.constraint.ast.Hypothesis;
+import sherrloc.constraint.ast.JoinElement;
+import sherrloc.constraint.ast.MeetElement;
+import sherrloc.constraint.ast.Relation;
+import sherrloc.constraint.ast.Top;
+import sherrloc.constraint.ast.Variable;
+import sherrloc.constraint.ast.QuantifiedVariable;
+import sherrloc.constraint.ast.Position;
+import sherrloc.diagnostic.DiagnosisInput;
+import sherrloc.graph.Variance;
+
+/** CUP v0.11a beta 20060608 generated parser.
+  * @version Sat Oct 17 08:06:13 UTC 2026
+  */
+public class parser extends java_cup.runtime.lr_parser {
+
+  /** Default constructor. */
+  public parser() {super();}
+
+  /** Constructor which sets the default scanner. */
+  public parser(java_cup.runtime.Scanner s) {super(s);}
+
+  /** Constructor which sets the default scanner. */
+  public parser(java_cup.runtime.Scanner s, java_cup.runtime.SymbolFactory sf) {super(s,sf);}
+
+  /** Production table. */
+  protected static final short _production_table[][] = 
+    unpackFromStrings(new String[] {
+    "\000\077\000\002\034\002\000\002\002\010\000\002\002" +
+    "\004\000\002\035\002\000\002\002\005\000\002\011\003" +
+    "\000\002\011\002\000\002\012\004\000\002\012\003\000" +
+    "\002\013\003\000\002\013\003\000\002\013\003\000\002" +
+    "\014\005\000\002\014\007\000\002\015\005\000\002\016" +
+    "\004\000\002\016\006\000\002\024\003\000\002\025\003" +
+    "\000\002\026\003\000\002\017\004\000\002\017\003\000" +
+    "\002\020\011\000\002\020\007\000\002\020\007\000\002" +
+    "\020\004\000\002\007\005\000\002\007\003\000\002\006" +
+    "\005\000\002\006\004\000\002\005\005\000\002\005\005" +
+    "\000\002\005\005\000\002\004\004\000\002\004\003\000" +
+    "\002\003\006\000\002\010\005\000\002\010\004\000\002" +
+    "\010\002\000\002\033\011\000\002\033\007\000\002\033" +
+    "\007\000\002\033\005\000\002\033\002\000\002\032\007" +
+    "\000\002\032\011\000\002\032\003\000\002\032\002\000" +
+    "\002\021\005\000\002\021\005\000\002\021\005\000\002" +
+    "\021\005\000\002\021\005\000\002\021\003\000\002\030" +
+    "\005\000\002\030\003\000\002\031\005\000\002\031\003" +
+    "\000\002\027\004\000\002\027\003\000\002\023\004\000" +
+    "\002\022\003\000\002\022\005" });
+
+  /** Access to production table. */
+  public short[][] production_table() {return _production_table;}
+
+  /** Parse-action table. */
+  protected static final short[][] _action_table = 
+    unpackFromStrings(new String[] {
+    "\000\166\000\016\004\ufffb\005\014\006\013\007\011\020" +
+    "\ufffb\034\ufffb\001\002\000\010\004\001\020\ufffe\034\ufffe" +
+    "\001\002\000\016\004\ufff8\005\ufff8\006\ufff8\007\ufff8\020" +
+    "\ufff8\034\ufff8\001\002\000\016\004\ufff6\005\ufff6\006\ufff6" +
+    "\007\ufff6\020\ufff6\034\ufff6\001\002\000\004\002\033\001" +
+    "\002\000\016\004\ufff7\005\ufff7\006\ufff7\007\ufff7\020\ufff7" +
+    "\034\ufff7\001\002\000\004\034\017\001\002\000\016\004" +
+    "\ufff9\005\ufff9\006\ufff9\007\ufff9\020\ufff9\034\ufff9\001\002" +
+    "\000\004\034\017\001\002\000\004\034\017\001\002\000" +
+    "\016\004\ufffc\005\014\006\013\007\011\020\ufffc\034\ufffc" +
+    "\001\002\000\016\004\ufffa\005\ufffa\006\ufffa\007\ufffa\020" +
+    "\ufffa\034\ufffa\001\002\000\022\004\ufff0\005\ufff0\006\ufff0" +
+    "\007\ufff0\020\ufff0\033\ufff0\034\ufff0\040\ufff0\001\002\000" +
+    "\004\033\021\001\002\000\020\004\uffef\005\uffef\006\uffef" +
+    "\007\uffef\020\uffef\034\uffef\040\uffef\001\002\000\020\004" +
+    "\ufff5\005\ufff5\006\ufff5\007\ufff5\020\ufff5\034\ufff5\040\023" +
+    "\001\002\000\004\033\024\001\002\000\016\004\uffee\005" +
+    "\uffee\006\uffee\007\uffee\020\uffee\034\uffee\001\002\000\016" +
+    "\004\ufff4\005\ufff4\006\ufff4\007\ufff4\020\ufff4\034\ufff4\001" +
+    "\002\000\004\033\021\001\002\000\016\004\ufff3\005\ufff3" +
+    "\006\ufff3\007\ufff3\020\ufff3\034\ufff3\001\002\000\020\004" +
+    "\ufff2\005\ufff2\006\ufff2\007\ufff2\020\ufff2\034\ufff2\040\031" +
+    "\001\002\000\004\033\024\001\002\000\016\004\ufff1\005" +
+    "\ufff1\006\ufff1\007\ufff1\020\ufff1\034\ufff1\001\002\000\004" +
+    "\002\uffff\001\002\000\006\020\045\034\043\001\002\000" +
+    "\004\004\036\001\002\000\010\020\045\034\043\036\037" +
+    "\001\002\000\006\020\045\034\153\001\002\000\036\010" +
+    "\uffd6\011\uffd6\012\uffd6\013\uffd6\014\uffd6\015\uffd6\016\uffd6" +
+    "\017\uffd6\020\uffd6\021\uffd6\022\105\024\uffd6\031\uffd6\034" +
+    "\uffd6\001\002\000\004\017\150\001\002\000\010\010\142" +
+    "\011\144\012\143\001\002\000\036\010\uffc4\011\uffc4\012" +
+    "\uffc4\013\uffc4\014\uffc4\015\uffc4\016\uffc4\017\uffc4\020\uffc4" +
+    "\021\uffc4\022\uffc4\024\uffc4\031\uffc4\034\uffc4\001\002\000" +
+    "\012\004\074\020\045\034\043\036\037\001\002\000\006" +
+    "\020\045\034\043\001\002\000\012\004\uffec\020\uffec\034" +
+    "\uffec\036\uffec\001\002\000\016\013\056\014\060\015\054" +
+    "\016\057\021\055\024\053\001\002\000\022\013\uffc6\014" +
+    "\uffc6\015\uffc6\016\uffc6\020\uffc6\021\uffc6\024\uffc6\034\uffc6" +
+    "\001\002\000\022\013\uffcc\014\uffcc\015\uffcc\016\uffcc\020" +
+    "\045\021\uffcc\024\uffcc\034\043\001\002\000\022\013\uffc7" +
+    "\014\uffc7\015\uffc7\016\uffc7\020\uffc7\021\uffc7\024\uffc7\034" +
+    "\uffc7\001\002\000\006\020\045\034\043\001\002\000\006" +
+    "\020\045\034\043\001\002\000\036\010\uffc3\011\uffc3\012" +
+    "\uffc3\013\uffc3\014\uffc3\015\uffc3\016\uffc3\017\uffc3\020\uffc3" +
+    "\021\uffc3\022\uffc3\024\uffc3\031\uffc3\034\uffc3\001\002\000" +
+    "\006\020\045\034\043\001\002\000\006\020\045\034\043" +
+    "\001\002\000\006\020\045\034\043\001\002\000\016\013" +
+    "\056\014\060\015\054\016\057\021\uffd0\024\053\001\002" +
+    "\000\016\013\056\014\060\015\054\016\057\021\uffc8\024" +
+    "\053\001\002\000\016\013\uffcd\014\uffcd\015\uffcd\016\064" +
+    "\021\uffcd\024\uffcd\001\002\000\006\020\045\034\043\001" +
+    "\002\000\016\013\056\014\060\015\054\016\057\021\uffc9" +
+    "\024\053\001\002\000\016\013\056\014\060\015\054\016" +
+    "\057\021\uffd1\024\053\001\002\000\016\013\uffce\014\uffce" +
+    "\015\071\016\uffce\021\uffce\024\uffce\001\002\000\016\013" +
+    "\056\014\060\015\054\016\057\021\uffca\024\053\001\002" +
+    "\000\006\020\045\034\043\001\002\000\016\013\056\014" +
+    "\060\015\054\016\057\021\uffcb\024\053\001\002\000\016" +
+    "\013\uffcf\014\uffcf\015\uffcf\016\uffcf\021\uffcf\024\uffcf\001" +
+    "\002\000\006\020\045\034\043\001\002\000\012\004\uffed" +
+    "\020\uffed\034\uffed\036\uffed\001\002\000\010\002\000\020" +
+    "\045\034\043\001\002\000\010\002\uffdf\020\uffdf\034\uffdf" +
+    "\001\002\000\006\017\uffdb\031\101\001\002\000\010\020" +
+    "\045\032\133\034\043\001\002\000\004\017\103\001\002" +
+    "\000\012\002\uffd6\020\uffd6\022\105\034\uffd6\001\002\000" +
+    "\010\002\uffde\020\uffde\034\uffde\001\002\000\014\023\uffd2" +
+    "\030\uffd2\033\107\034\110\035\111\001\002\000\006\023" +
+    "\126\030\127\001\002\000\004\024\120\001\002\000\006" +
+    "\023\uffd3\030\uffd3\001\002\000\004\027\112\001\002\000" +
+    "\012\023\uffd2\030\uffd2\033\107\034\110\001\002\000\006" +
+    "\023\114\030\115\001\002\000\036\002\uffd9\010\uffd9\011" +
+    "\uffd9\012\uffd9\013\uffd9\014\uffd9\015\uffd9\016\uffd9\017\uffd9" +
+    "\020\uffd9\021\uffd9\024\uffd9\031\uffd9\034\uffd9\001\002\000" +
+    "\004\034\116\001\002\000\004\023\117\001\002\000\036" +
+    "\002\uffda\010\uffda\011\uffda\012\uffda\013\uffda\014\uffda\015" +
+    "\uffda\016\uffda\017\uffda\020\uffda\021\uffda\024\uffda\031\uffda" +
+    "\034\uffda\001\002\000\004\033\121\001\002\000\004\026" +
+    "\122\001\002\000\004\033\123\001\002\000\010\023\uffd5" +
+    "\024\124\030\uffd5\001\002\000\004\033\125\001\002\000" +
+    "\006\023\uffd4\030\uffd4\001\002\000\036\002\uffd7\010\uffd7" +
+    "\011\uffd7\012\uffd7\013\uffd7\014\uffd7\015\uffd7\016\uffd7\017" +
+    "\uffd7\020\uffd7\021\uffd7\024\uffd7\031\uffd7\034\uffd7\001\002" +
+    "\000\004\034\130\001\002\000\004\023\131\001\002\000" +
+    "\036\002\uffd8\010\uffd8\011\uffd8\012\uffd8\013\uffd8\014\uffd8" +
+    "\015\uffd8\016\uffd8\017\uffd8\020\uffd8\021\uffd8\024\uffd8\031" +
+    "\uffd8\034\uffd8\001\002\000\004\017\140\001\002\000\004" +
+    "\017\uffdc\001\002\000\010\020\045\032\136\034\043\001" +
+    "\002\000\004\017\137\001\002\000\004\017\uffdd\001\002" +
+    "\000\014\017\uffe5\020\uffe5\032\uffe5\034\uffe5\037\uffe5\001" +
+    "\002\000\014\017\uffe4\020\uffe4\032\uffe4\034\uffe4\037\uffe4" +
+    "\001\002\000\010\002\uffe0\020\uffe0\034\uffe0\001\002\000" +
+    "\006\020\045\034\043\001\002\000\006\020\045\034\043" +
+    "\001\002\000\006\020\045\034\043\001\002\000\006\017" +
+    "\uffe2\031\uffe2\001\002\000\006\017\uffe1\031\uffe1\001\002" +
+    "\000\006\017\uffe3\031\uffe3\001\002\000\012\004\uffe8\020" +
+    "\uffe8\034\uffe8\036\uffe8\001\002\000\034\010\uffc5\011\uffc5" +
+    "\012\uffc5\013\uffc5\014\uffc5\015\uffc5\016\uffc5\017\uffc5\020" +
+    "\uffc5\021\uffc5\024\uffc5\031\uffc5\034\uffc5\001\002\000\006" +
+    "\024\160\025\161\001\002\000\016\010\uffc4\011\uffc4\012" +
+    "\uffc4\022\uffc4\024\uffe6\025\uffe6\001\002\000\010\020\045" +
+    "\034\043\037\155\001\002\000\006\020\045\034\043\001" +
+    "\002\000\010\017\157\020\045\034\043\001\002\000\012" +
+    "\004\uffea\020\uffea\034\uffea\036\uffea\001\002\000\004\034" +
+    "\167\001\002\000\006\020\045\034\043\001\002\000\012" +
+    "\017\163\020\045\034\043\037\164\001\002\000\012\004" +
+    "\uffe9\020\uffe9\034\uffe9\036\uffe9\001\002\000\006\020\045" +
+    "\034\043\001\002\000\010\017\166\020\045\034\043\001" +
+    "\002\000\012\004\uffeb\020\uffeb\034\uffeb\036\uffeb\001\002" +
+    "\000\006\024\uffe7\025\uffe7\001\002\000\010\002\ufffd\020" +
+    "\045\034\043\001\002" });
+
+  /** Access to parse-action table. */
+  public short[][] action_table() {return _action_table;}
+
+  /** <code>reduce_goto</code> table. */
+  protected static final short[][] _reduce_table = 
+    unpackFromStrings(new String[] {
+    "\000\166\000\020\002\006\011\003\012\014\013\011\014" +
+    "\004\015\007\016\005\001\001\000\006\034\034\035\033" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\004\024\027\001\001\000\002" +
+    "\001\001\000\004\024\025\001\001\000\004\024\017\001" +
+    "\001\000\012\013\015\014\004\015\007\016\005\001\001" +
+    "\000\002\001\001\000\002\001\001\000\004\025\021\001" +
+    "\001\000\002\001\001\000\002\001\001\000\004\026\024" +
+    "\001\001\000\002\001\001\000\002\001\001\000\004\025" +
+    "\026\001\001\000\002\001\001\000\002\001\001\000\004" +
+    "\026\031\001\001\000\002\001\001\000\002\001\001\000" +
+    "\014\003\076\004\167\005\077\022\037\023\041\001\001" +
+    "\000\002\001\001\000\014\005\040\017\043\020\045\022" +
+    "\037\023\041\001\001\000\014\005\131\006\153\007\151" +
+    "\022\037\023\041\001\001\000\004\033\150\001\001\000" +
+    "\002\001\001\000\002\001\001\000\002\001\001\000\012" +
+    "\005\040\020\074\022\037\023\041\001\001\000\012\021" +
+    "\046\022\037\023\047\027\050\001\001\000\002\001\001" +
+    "\000\002\001\001\000\002\001\001\000\006\022\037\023" +
+    "\051\001\001\000\002\001\001\000\012\021\072\022\037" +
+    "\023\047\027\050\001\001\000\014\021\067\022\037\023" +
+    "\047\027\050\030\066\001\001\000\002\001\001\000\012" +
+    "\021\065\022\037\023\047\027\050\001\001\000\014\021" +
+    "\061\022\037\023\047\027\050\031\062\001\001\000\012" +
+    "\021\060\022\037\023\047\027\050\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\012\021\064" +
+    "\022\037\023\047\027\050\001\001\000\002\001\001\000" +
+    "\002\001\001\000\002\001\001\000\002\001\001\000\012" +
+    "\021\071\022\037\023\047\027\050\001\001\000\002\001" +
+    "\001\000\002\001\001\000\014\003\076\004\075\005\077" +
+    "\022\037\023\041\001\001\000\002\001\001\000\012\003" +
+    "\140\005\077\022\037\023\041\001\001\000\002\001\001" +
+    "\000\004\010\101\001\001\000\012\005\131\006\133\022" +
+    "\037\023\041\001\001\000\002\001\001\000\004\033\103" +
+    "\001\001\000\002\001\001\000\004\032\105\001\001\000" +
+    "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
+    "\001\001\000\004\032\112\001\001\000\002\001\001\000" +
+    "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
+    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
+    "\002\001\001\000\002\001\001\000\002\001\001\000\010" +
+    "\005\134\022\037\023\041\001\001\000\002\001\001\000" +
+    "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
+    "\001\001\000\006\022\037\023\146\001\001\000\006\022" +
+    "\037\023\145\001\001\000\006\022\037\023\144\001\001" +
+    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
+    "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
+    "\001\001\000\010\005\134\022\037\023\041\001\001\000" +
+    "\012\005\131\006\155\022\037\023\041\001\001\000\010" +
+    "\005\134\022\037\023\041\001\001\000\002\001\001\000" +
+    "\002\001\001\000\012\005\131\006\161\022\037\023\041" +
+    "\001\001\000\010\005\134\022\037\023\041\001\001\000" +
+    "\002\001\001\000\012\005\131\006\164\022\037\023\041" +
+    "\001\001\000\010\005\134\022\037\023\041\001\001\000" +
+    "\002\001\001\000\002\001\001\000\012\003\140\005\077" +
+    "\022\037\023\041\001\001" });
+
+  /** Access to <code>reduce_goto</code> table. */
+  public short[][] reduce_table() {return _reduce_table;}
+
+  /** Instance of action encapsulation class. */
+  protected CUP$parser$actions action_obj;
+
+  /** Action encapsulation object initializer. */
+  protected void init_actions()
+    {
+      action_obj = new CUP$parser$actions(this);
+    }
+
+  /** Invoke a user supplied parse action. */
+  public java_cup.runtime.Symbol do_action(
+    int                        act_num,
+    java_cup.runtime.lr_parser parser,
+    java.util.Stack            stack,
+    int                        top)
+    throws java.lang.Exception
+  {
+    /* call code in generated class */
+    return action_obj.CUP$parser$do_action(act_num, parser, stack, top);
+  }
+
+  /** Indicates start state. */
+  public int start_state() {return 0;}
+  /** Indicates start production. */
+  public int start_production() {return 2;}
+
+  /** <code>EOF</code> Symbol index. */
+  public int EOF_sym() {return 0;}
+
+  /** <code>error</code> Symbol index. */
+  public int error_sym() {return 1;}
+
+}
+
+/** Cup generated class to encapsulate user supplied action code.*/
+class CUP$parser$actions {
+
+ 
+				Map<String, Constructor> constructors = new HashMap<String, Constructor>( );
+				Map<String, Function> functions = new HashMap<String, Function>( );
+				List<Axiom> axioms = new ArrayList<Axiom>( );
+				Map<String, Variable> variables = new HashMap<String, Variable>(); 
+				Map<String, QuantifiedVariable> qvars = new HashMap<String, QuantifiedVariable>();
+				Hypothesis env = new Hypothesis();
+				boolean varMode = false; // there are two modes of declaring constraint variables and constructors: varMode=true, when variables are 
+				                         // declared and constructors are inferred; varMode = false, when constructors (and arities) are declared
+			
+  private final parser parser;
+
+  /** Constructor */
+  CUP$parser$actions(parser parser) {
+    this.parser = parser;
+  }
+
+  /** Method with the actual generated action code. */
+  public final java_cup.runtime.Symbol CUP$parser$do_action(
+    int                        CUP$parser$act_num,
+    java_cup.runtime.lr_parser CUP$parser$parser,
+    java.util.Stack            CUP$parser$stack,
+    int                        CUP$parser$top)
+    throws java.lang.Exception
+    {
+      /* Symbol object for return from actions */
+      java_cup.runtime.Symbol CUP$parser$result;
+
+      /* select the action based on the action number */
+      switch (CUP$parser$act_num)
+        {
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 62: // element ::= LPAREN term RPAREN 
+            {
+              Element RESULT =null;
+		int tleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int tright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Element t = (Element)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		  RESULT = t; 
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("element",16, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 61: // element ::= IDENTIFIER 
+            {
+              Element RESULT =null;
+		int sleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int sright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		String s = (String)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		 	
+			    Element e;
+			    if (qvars.containsKey(s)) {
+			        e = qvars.get(s);
+			    }
+				else if (constructors.containsKey(s)) {
+					e = constructors.get(s).clone();
+				}
+				else if (functions.containsKey(s)) {
+					e = functions.get(s).clone();
+				}
+				else if (varMode && !(variables.containsKey(s))) {
+				    e = new Constructor(s, 0, 0, Variance.POS, Position.EmptyPosition());
+				    constructors.put(s, (Constructor)e);
+				}
+				else {
+			   		if (!(variables.containsKey(s)))
+			   			variables.put (s, new Variable(s,0));
+			   		e = variables.get(s);
+			   	}		
+			   	RESULT = e;
+			 
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("element",16, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 60: // ele_pos ::= element position 
+            {
+              Element RESULT =null;
+		int e1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int e1right = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Element e1 = (Element)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		int pleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int pright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Position p = (Position)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+				e1.setPosition(p);
+				RESULT = e1;
+			
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("ele_pos",17, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 59: // ele_pos_list ::= ele_pos 
+            {
+              List<Element> RESULT =null;
+		int eleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Element e = (Element)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		 
+			    List<Element> l = new ArrayList<Element>(); 
+			    l.add(e); 
+			    RESULT = l; 
+			
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("ele_pos_list",21, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 58: // ele_pos_list ::= ele_pos_list ele_pos 
+            {
+              List<Element> RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		List<Element> l = (List<Element>)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		int eleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Element e = (Element)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		 
+			    l.add(e); 
+			    RESULT = l; 
+			
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("ele_pos_list",21, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 57: // meet_list ::= term 
+            {
+              List<Element> RESULT =null;
+		int eleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Element e = (Element)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		 
+			    List<Element> l = new ArrayList<Element>(); 
+			    l.add(e); 
+			    RESULT = l; 
+			
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("meet_list",23, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 56: // meet_list ::= meet_list MEET term 
+            {
+              List<Element> RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		List<Element> l = (List<Element>)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int eleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Element e = (Element)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+			    l.add(e);
+			    RESULT = l;
+			
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("meet_list",23, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 55: // join_list ::= term 
+            {
+              List<Element> RESULT =null;
+		int eleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Element e = (Element)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		 
+			    List<Element> l = new ArrayList<Element>(); 
+			    l.add(e); 
+			    RESULT = l; 
+			
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("join_list",22, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 54: // join_list ::= join_list JOIN term 
+            {
+              List<Element> RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		List<Element> l = (List<Element>)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int eleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Element e = (Element)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+			    l.add(e);
+			    RESULT = l;
+			
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("join_list",22, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 53: // term ::= ele_pos_list 
+            {
+              Element RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		List<Element> l = (List<Element>)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		 	
+			    Element e = l.remove(0);
+			    if (l.size()==0) {
+			        RESULT = e;
+			    }
+			    else {
+			        if (!(e instanceof Constructor) && !(e instanceof Variable) && !(e instanceof Function))
+			            throw new Error("\""+e+"\"" + " is not a constructor, function, or variable");
+			        if (e instanceof Constructor) {
+			            Constructor c = (Constructor) e;
+			            if (varMode && constructors.get(c.getName()).getArity() == 0) {   // need to infer the arity of constructors
+			                c.setArity(l.size());
+			                constructors.get(c.getName()).setArity(l.size());
+			            }
+				        /*if (c.getArity() > l.size()) 
+				            System.out.println ("Constraints contain partial application: constructor "+c+" takes wrong number of parameters: "+
+			   						"expecting "+c.getArity()+" getting "+l.size());
+			   			else*/ if (c.getArity() < l.size())
+			   			    c.setArity(l.size());
+			            RESULT = new ConstructorApplication (c, l);
+			        }
+			        else if (e instanceof Function) {
+			            Function f = (Function) e;
+				        if (f.getArity() > l.size()) 
+				            System.err.println ("Functions contain partial application: function "+f+" takes wrong number of parameters: "+
+			   						"expecting "+f.getArity()+" getting "+l.size());
+			   			RESULT = new FunctionApplication (f, l);
+			        }
+			        else {
+			            RESULT = new VariableApplication ((Variable)e, l);
+			        }
+			    } 
+			
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("term",15, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 52: // term ::= term MEET meet_list 
+            {
+              Element RESULT =null;
+		int t1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int t1right = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Element t1 = (Element)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		List<Element> l = (List<Element>)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		 	
+				l.add(0,t1);
+				MeetElement e = new MeetElement (l);
+				RESULT = e; 
+			
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("term",15, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 51: // term ::= term JOIN join_list 
+            {
+              Element RESULT =null;
+		int t1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int t1right = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Element t1 = (Element)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		List<Element> l = (List<Element>)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		 	
+				l.add(0,t1);
+				JoinElement e = new JoinElement (l);
+				RESULT =  e;
+			
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("term",15, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 50: // term ::= term COMMA term 
+            {
+              Element RESULT =null;
+		int t1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int t1right = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Element t1 = (Element)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int t2left = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int t2right = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Element t2 = (Element)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		 	
+				List<Element> l = new ArrayList<Element>();
+				l.add(t1);
+				l.add(t2);  
+				RESULT = new ConstructorApplication (constructors.get("pair"), l); 
+			
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("term",15, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 49: // term ::= term LARROW term 
+            {
+              Element RESULT =null;
+		int t1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int t1right = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Element t1 = (Element)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int t2left = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int t2right = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Element t2 = (Element)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		 	List<Element> l = new ArrayList<Element>();
+				l.add(t1);
+				l.add(t2);  
+				RESULT = new ConstructorApplication (constructors.get("larrow"), l);
+			
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("term",15, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 48: // term ::= term ARROW term 
+            {
+              Element RESULT =null;
+		int t1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int t1right = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Element t1 = (Element)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int t2left = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int t2right = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Element t2 = (Element)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		 	List<Element> l = new ArrayList<Element>();
+				l.add(t1);
+				l.add(t2);  
+				RESULT = new ConstructorApplication (constructors.get("arrow"), l);
+			
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("term",15, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 47: // range ::= 
+            {
+              Position RESULT =null;
+		  RESULT = Position.EmptyPosition(); 
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("range",24, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 46: // range ::= IDENTIFIER 
+            {
+              Position RESULT =null;
+		int sleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int sright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		String s = (String)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		  RESULT = Position.EmptyPosition(); 
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("range",24, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 45: // range ::= INTEGER_LITERAL COMMA INTEGER_LITERAL DASH INTEGER_LITERAL COMMA INTEGER_LITERAL 
+            {
+              Position RESULT =null;
+		int d1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-6)).left;
+		int d1right = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-6)).right;
+		Integer d1 = (Integer)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-6)).value;
+		int d2left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).left;
+		int d2right = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).right;
+		Integer d2 = (Integer)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-4)).value;
+		int d3left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int d3right = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Integer d3 = (Integer)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int d4left = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int d4right = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Integer d4 = (Integer)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+			    RESULT = new Position ("", "", d1, d2, d3, d4);
+			
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("range",24, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-6)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 44: // range ::= INTEGER_LITERAL COMMA INTEGER_LITERAL DASH INTEGER_LITERAL 
+            {
+              Position RESULT =null;
+		int d1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).left;
+		int d1right = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).right;
+		Integer d1 = (Integer)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-4)).value;
+		int d2left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int d2right = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Integer d2 = (Integer)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int d3left = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int d3right = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Integer d3 = (Integer)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+			    RESULT = new Position ("", "", d1, d2, d1, d3);
+			
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("range",24, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 43: // position ::= 
+            {
+              Position RESULT =null;
+		
+			   RESULT = Position.EmptyPosition();
+			
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("position",25, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 42: // position ::= LBRACK range RBRACK 
+            {
+              Position RESULT =null;
+		int pleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int pright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Position p = (Position)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		 
+			   RESULT = p; 
+			
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("position",25, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 41: // position ::= LBRACK range AT IDENTIFIER RBRACK 
+            {
+              Position RESULT =null;
+		int pleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left;
+		int pright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).right;
+		Position p = (Position)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-3)).value;
+		int sleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int sright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		String s = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		 
+			   p.setFile(s);
+			   RESULT = p; 
+			
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("position",25, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 40: // position ::= LBRACK STRING_LITERAL COLON range RBRACK 
+            {
+              Position RESULT =null;
+		int snippetleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left;
+		int snippetright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).right;
+		String snippet = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-3)).value;
+		int pleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int pright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Position p = (Position)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		 
+			   p.setSnippet(snippet); 
+			   RESULT = p; 
+			
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("position",25, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 39: // position ::= LBRACK STRING_LITERAL COLON range AT IDENTIFIER RBRACK 
+            {
+              Position RESULT =null;
+		int snippetleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-5)).left;
+		int snippetright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-5)).right;
+		String snippet = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-5)).value;
+		int pleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left;
+		int pright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).right;
+		Position p = (Position)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-3)).value;
+		int sleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int sright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		String s = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		 
+			   p.setFile(s);
+			   p.setSnippet(snippet); 
+			   RESULT = p; 
+			
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("position",25, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-6)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 38: // env ::= 
+            {
+              Hypothesis RESULT =null;
+		
+			   RESULT = null;
+			
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("env",6, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 37: // env ::= LBRACE RBRACE 
+            {
+              Hypothesis RESULT =null;
+		
+			   RESULT = null;
+			
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("env",6, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 36: // env ::= LBRACE inequalities RBRACE 
+            {
+              Hypothesis RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Set<Inequality> l = (Set<Inequality>)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		 Hypothesis e = new Hypothesis(); 
+			   for (Inequality ie : l)
+			       e.addInequality(ie);
+			   RESULT = e; 
+			
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("env",6, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 35: // equation ::= inequality env SEMICOLON position 
+            {
+              Constraint RESULT =null;
+		int ieleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left;
+		int ieright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).right;
+		Inequality ie = (Inequality)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-3)).value;
+		int eleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Hypothesis e = (Hypothesis)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int pleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int pright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Position p = (Position)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		 RESULT = new Constraint (ie, e, p); 
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("equation",1, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 34: // equations ::= equation 
+            {
+              Set<Constraint> RESULT =null;
+		int eleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Constraint e = (Constraint)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		 Set<Constraint> set = new HashSet<Constraint>(); set.add(e); RESULT = set; 
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("equations",2, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 33: // equations ::= equations equation 
+            {
+              Set<Constraint> RESULT =null;
+		int sleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int sright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Set<Constraint> s = (Set<Constraint>)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		int eleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Constraint e = (Constraint)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		 s.add(e); RESULT = s; 
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("equations",2, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 32: // inequality ::= ele_pos GEQ ele_pos 
+            {
+              Inequality RESULT =null;
+		int e1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int e1right = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Element e1 = (Element)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int e2left = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int e2right = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Element e2 = (Element)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		 RESULT = new Inequality (e2, e1, Relation.LEQ); 
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("inequality",3, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 31: // inequality ::= ele_pos LEQ ele_pos 
+            {
+              Inequality RESULT =null;
+		int e1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int e1right = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Element e1 = (Element)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int e2left = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int e2right = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Element e2 = (Element)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		 RESULT = new Inequality (e1, e2, Relation.LEQ); 
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("inequality",3, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 30: // inequality ::= ele_pos EQ ele_pos 
+            {
+              Inequality RESULT =null;
+		int e1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int e1right = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Element e1 = (Element)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int e2left = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int e2right = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Element e2 = (Element)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		 RESULT = new Inequality (e1, e2, Relation.EQ); 
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("inequality",3, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 29: // inequalities ::= inequality SEMICOLON 
+            {
+              Set<Inequality> RESULT =null;
+		int ieleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int ieright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Inequality ie = (Inequality)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		 Set<Inequality> set = new HashSet<Inequality>(); set.add(ie); RESULT = set; 
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("inequalities",4, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 28: // inequalities ::= inequalities inequality SEMICOLON 
+            {
+              Set<Inequality> RESULT =null;
+		int sleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int sright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Set<Inequality> s = (Set<Inequality>)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int ieleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int ieright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Inequality ie = (Inequality)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		 s.add(ie); RESULT = s; 
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("inequalities",4, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 27: // var_list ::= IDENTIFIER 
+            {
+              List<QuantifiedVariable> RESULT =null;
+		int sleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int sright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		String s = (String)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		 List<QuantifiedVariable> lst = new ArrayList<QuantifiedVariable>(); 
+               QuantifiedVariable qv = new QuantifiedVariable(s);
+               lst.add(qv); 
+               qvars.put(s, qv);
+               RESULT = lst; 
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("var_list",5, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 26: // var_list ::= var_list COMMA IDENTIFIER 
+            {
+              List<QuantifiedVariable> RESULT =null;
+		int lstleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int lstright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		List<QuantifiedVariable> lst = (List<QuantifiedVariable>)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int sleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int sright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		String s = (String)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		 QuantifiedVariable qv = new QuantifiedVariable(s);
+               lst.add(qv);
+               qvars.put(s, qv); 
+               RESULT = lst; 
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("var_list",5, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 25: // assumption ::= inequality SEMICOLON 
+            {
+              Object RESULT =null;
+		int ieleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int ieright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Inequality ie = (Inequality)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		 env.addInequality(ie); 
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("assumption",14, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 24: // assumption ::= AXIOM var_list DOT inequalities SEMICOLON 
+            {
+              Object RESULT =null;
+		int lstleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left;
+		int lstright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).right;
+		List<QuantifiedVariable> lst = (List<QuantifiedVariable>)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-3)).value;
+		int ieleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int ieright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Set<Inequality> ie = (Set<Inequality>)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		 axioms.add(new Axiom(lst, new HashSet<Inequality>(), ie)); qvars.clear(); 
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("assumption",14, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 23: // assumption ::= AXIOM inequalities IMPLIES inequalities SEMICOLON 
+            {
+              Object RESULT =null;
+		int ie1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left;
+		int ie1right = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).right;
+		Set<Inequality> ie1 = (Set<Inequality>)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-3)).value;
+		int ie2left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int ie2right = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Set<Inequality> ie2 = (Set<Inequality>)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		 axioms.add(new Axiom(new ArrayList<QuantifiedVariable>(), ie1, ie2)); qvars.clear(); 
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("assumption",14, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 22: // assumption ::= AXIOM var_list DOT inequalities IMPLIES inequalities SEMICOLON 
+            {
+              Object RESULT =null;
+		int lstleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-5)).left;
+		int lstright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-5)).right;
+		List<QuantifiedVariable> lst = (List<QuantifiedVariable>)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-5)).value;
+		int ie1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left;
+		int ie1right = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).right;
+		Set<Inequality> ie1 = (Set<Inequality>)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-3)).value;
+		int ie2left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int ie2right = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Set<Inequality> ie2 = (Set<Inequality>)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		 axioms.add(new Axiom(lst, ie1, ie2)); qvars.clear(); 
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("assumption",14, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-6)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 21: // assumptions ::= assumption 
+            {
+              Object RESULT =null;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("assumptions",13, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 20: // assumptions ::= assumptions assumption 
+            {
+              Object RESULT =null;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("assumptions",13, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 19: // level ::= INTEGER_LITERAL 
+            {
+              Integer RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Integer l = (Integer)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		 RESULT = l; 
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("level",20, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 18: // arity ::= INTEGER_LITERAL 
+            {
+              Integer RESULT =null;
+		int aleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int aright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Integer a = (Integer)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		 RESULT = a; 
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("arity",19, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 17: // id ::= IDENTIFIER 
+            {
+              String RESULT =null;
+		int sleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int sright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		String s = (String)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		 RESULT = s; 
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("id",18, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 16: // variable ::= VARIABLE id LEVEL level 
+            {
+              Object RESULT =null;
+		int sleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int sright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		String s = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Integer l = (Integer)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		 variables.put( s, new Variable(s, l)); 
+               varMode = true;
+            
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("variable",12, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 15: // variable ::= VARIABLE id 
+            {
+              Object RESULT =null;
+		int sleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int sright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		String s = (String)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		 variables.put( s, new Variable(s, 0)); 
+               varMode = true;
+            
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("variable",12, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 14: // function ::= FUNCTION id arity 
+            {
+              Object RESULT =null;
+		int sleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int sright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		String s = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		int aleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int aright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Integer a = (Integer)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		 functions.put( s, new Function(s, a, Position.EmptyPosition())); 
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("function",11, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 13: // constructor ::= CONSTRUCTOR id arity LEVEL level 
+            {
+              Object RESULT =null;
+		int sleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left;
+		int sright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).right;
+		String s = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-3)).value;
+		int aleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int aright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Integer a = (Integer)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Integer l = (Integer)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		 constructors.put( s, new Constructor(s, a, l, Variance.POS, Position.EmptyPosition())); 
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("constructor",10, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 12: // constructor ::= CONSTRUCTOR id arity 
+            {
+              Object RESULT =null;
+		int sleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int sright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		String s = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		int aleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int aright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Integer a = (Integer)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		 constructors.put( s, new Constructor(s, a, 0, Variance.POS, Position.EmptyPosition())); 
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("constructor",10, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 11: // one_declaration ::= variable 
+            {
+              Object RESULT =null;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("one_declaration",9, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 10: // one_declaration ::= function 
+            {
+              Object RESULT =null;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("one_declaration",9, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 9: // one_declaration ::= constructor 
+            {
+              Object RESULT =null;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("one_declaration",9, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 8: // declarations ::= one_declaration 
+            {
+              Object RESULT =null;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("declarations",8, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 7: // declarations ::= declarations one_declaration 
+            {
+              Object RESULT =null;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("declarations",8, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 6: // declaration ::= 
+            {
+              Object RESULT =null;
+		 
+               varMode = true; // use var mode when there is no declaration
+               
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("declaration",7, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 5: // declaration ::= declarations 
+            {
+              Object RESULT =null;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("declaration",7, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 4: // cons_spec ::= declaration NT$1 equations 
+            {
+              DiagnosisInput RESULT =null;
+              // propagate RESULT from NT$1
+                RESULT = (DiagnosisInput) ((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Set<Constraint> l = (Set<Constraint>)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		 
+			    env.addAxioms(axioms);
+			    RESULT = new DiagnosisInput (env, l, axioms); 
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("cons_spec",0, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 3: // NT$1 ::= 
+            {
+              DiagnosisInput RESULT =null;
+ 
+					constructors.put("arrow", new Constructor("arrow", 2, 0, Variance.POS, Position.EmptyPosition()));
+					constructors.put("larrow", new Constructor("larrow", 2, 0, Variance.NEG, Position.EmptyPosition()));
+					constructors.put("pair",  new Constructor("pair", 2, 0, Variance.POS, Position.EmptyPosition())); 
+					constructors.put("_",  new Bottom(Position.EmptyPosition())); 
+					constructors.put("*",  new Top(Position.EmptyPosition())); 
+			
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("NT$1",27, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 2: // $START ::= cons_spec EOF 
+            {
+              Object RESULT =null;
+		int start_valleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int start_valright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		DiagnosisInput start_val = (DiagnosisInput)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		RESULT = start_val;
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("$START",0, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          /* ACCEPT */
+          CUP$parser$parser.done_parsing();
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 1: // cons_spec ::= declaration NT$0 SEPERATION assumptions SEPERATION equations 
+            {
+              DiagnosisInput RESULT =null;
+              // propagate RESULT from NT$0
+                RESULT = (DiagnosisInput) ((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-4)).value;
+		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Set<Constraint> l = (Set<Constraint>)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		 
+			    env.addAxioms(axioms);
+			    RESULT = new DiagnosisInput (env, l, axioms); 
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("cons_spec",0, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-5)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 0: // NT$0 ::= 
+            {
+              DiagnosisInput RESULT =null;
+ 
+					constructors.put("arrow", new Constructor("arrow", 2, 0, Variance.POS, Position.EmptyPosition()));
+					constructors.put("larrow", new Constructor("larrow", 2, 0, Variance.NEG, Position.EmptyPosition()));
+					constructors.put("pair",  new Constructor("pair", 2, 0, Variance.POS, Position.EmptyPosition()));
+					constructors.put("_",  new Bottom(Position.EmptyPosition())); 
+					constructors.put("*",  new Top(Position.EmptyPosition())); 
+			
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("NT$0",26, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /* . . . . . .*/
+          default:
+            throw new Exception(
+               "Invalid action number found in internal parse table");
+
+        }
+    }
+}
+
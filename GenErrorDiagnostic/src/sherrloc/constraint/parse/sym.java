@@ -0,0 +1,44 @@
+
+//----------------------------------------------------
+// The following code was generated by CUP v0.11a beta 20060608
+// Sat Oct 17 08:06:13 UTC 2026
+//----------------------------------------------------
+
+package sherrloc.constraint.parse;
+
+/** CUP generated class containing symbol constants. */
+public class sym {
+  /* terminals */
+  public static final int RBRACK = 17;
+  public static final int GEQ = 8;
+  public static final int SEMICOLON = 13;
+  public static final int RBRACE = 24;
+  public static final int RPAREN = 15;
+  public static final int LBRACK = 16;
+  public static final int IDENTIFIER = 26;
+  public static final int AT = 22;
+  public static final int FUNCTION = 4;
+  public static final int VARIABLE = 5;
+  public static final int MEET = 12;
+  public static final int IMPLIES = 29;
+  public static final int LBRACE = 23;
+  public static final int COLON = 21;
+  public static final int LPAREN = 14;
+  public static final int STRING_LITERAL = 27;
+  public static final int COMMA = 18;
+  public static final int CONSTRUCTOR = 3;
+  public static final int EOF = 0;
+  public static final int LEVEL = 30;
+  public static final int DOT = 19;
+  public static final int error = 1;
+  public static final int ARROW = 9;
+  public static final int EQ = 6;
+  public static final int INTEGER_LITERAL = 25;
+  public static final int DASH = 20;
+  public static final int LEQ = 7;
+  public static final int SEPERATION = 2;
+  public static final int AXIOM = 28;
+  public static final int LARROW = 10;
+  public static final int JOIN = 11;
+}
+
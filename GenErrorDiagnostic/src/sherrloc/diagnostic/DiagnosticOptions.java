@@ -8,6 +8,8 @@ import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 import org.apache.commons.cli.PosixParser;
 
+import sherrloc.constraint.analysis.ResourceBudget;
+
 /**
  * A configuration of the error diagnostic tool
  */
@@ -22,6 +24,15 @@ public class DiagnosticOptions {
 	private boolean dotFile;
 	private boolean toConsole;
 	private int nSubopt;
+	private int nThreads;
+	private boolean validate;
+	
+	/** resource limits (see {@link ResourceBudget}) */
+	private long maxEdges;
+	private long maxGrayNodes;
+	private long maxSearchNodes;
+	private long timeLimit;
+	private ResourceBudget budget = null;
 
 	/** input/output files */
 	private String sourceName;
@@ -57,6 +68,8 @@ public class DiagnosticOptions {
 		options.addOption("e", false, "generate likely wrong constraint elements");
 		options.addOption("f", false, "show full constraint graph (use with -d)");
 		options.addOption("h", false, "generate likely missing hypothesis");
+		options.addOption("j", true,  "number of threads used to saturate constraint graphs. Default value is one");
+		options.addOption("k", false, "check if removing each top-ranked explanation eliminates all errors (use with -c or -e)");
 		options.addOption("n", true,  "number of suboptimal suggestions to report. Default value is zero");
 		options.addOption("o", true,  "output file");
 		options.addOption("r", false, "allow recursion (e.g., x = list x)");
@@ -64,6 +77,10 @@ public class DiagnosticOptions {
 		options.addOption("u", false, "unified report with wrong constraint elements and missing hypothesis (experimental)");
 		options.addOption("v", false, "verbose mode (for evaluation)");
 		options.addOption("w", false, "HTML report");
+		options.addOption("t", "timeout", true, "wall-clock time limit in seconds; a partial result is reported when it is reached");
+		options.addOption("E", "max-edges", true, "maximum number of edges inferred in graph saturation");
+		options.addOption("G", "max-gray-nodes", true, "maximum number of gray nodes created in graph saturation");
+		options.addOption("S", "max-search-nodes", true, "maximum number of search nodes explored when ranking explanations");
 
 		CommandLineParser parser = new PosixParser();
 		CommandLine cmd = null;
@@ -95,6 +112,20 @@ public class DiagnosticOptions {
 				System.exit(0);
 			}
 		}
+		if (cmd.hasOption("j")) {
+			try {
+				nThreads = Integer.parseInt(cmd.getOptionValue("j"));
+			}
+			catch (NumberFormatException exp) {
+				nThreads = 0;
+			}
+			if (nThreads < 1) {
+				System.out.println("-j requires a positive integer parameter");
+				System.exit(0);
+			}
+		}
+		if (cmd.hasOption("k"))
+			validate = true;
 		if (cmd.hasOption("o"))
 			htmlFileName = cmd.getOptionValue("o");
 		if (cmd.hasOption("r"))
@@ -107,6 +138,14 @@ public class DiagnosticOptions {
 			verbose = true;
 		if (cmd.hasOption("w"))
 			toConsole = false;
+		if (cmd.hasOption("t"))
+			timeLimit = getLimit(cmd, "t") * 1000;
+		if (cmd.hasOption("E"))
+			maxEdges = getLimit(cmd, "E");
+		if (cmd.hasOption("G"))
+			maxGrayNodes = getLimit(cmd, "G");
+		if (cmd.hasOption("S"))
+			maxSearchNodes = getLimit(cmd, "S");
 
 		if (cmd.getArgs().length == 0) {
 			System.out.println("Please privide a constraint file to be analyzed");
@@ -118,6 +157,25 @@ public class DiagnosticOptions {
 		consFile = cmd.getArgs()[0];
 	}
 
+	/**
+	 * @return The value of a resource limit in command line. Exit when the
+	 *         value is not a positive integer
+	 */
+	private long getLimit(CommandLine cmd, String opt) {
+		long limit;
+		try {
+			limit = Long.parseLong(cmd.getOptionValue(opt));
+		}
+		catch (NumberFormatException exp) {
+			limit = 0;
+		}
+		if (limit < 1) {
+			System.out.println("-" + opt + " requires a positive integer parameter");
+			System.exit(0);
+		}
+		return limit;
+	}
+
 	/**
 	 * Set all options to default values
 	 */
@@ -129,6 +187,44 @@ public class DiagnosticOptions {
 		verbose = false;
 		htmlFileName = "error.html";
 		nSubopt = 0;
+		nThreads = 1;
+		validate = false;
+		maxEdges = ResourceBudget.UNLIMITED;
+		maxGrayNodes = ResourceBudget.UNLIMITED;
+		maxSearchNodes = ResourceBudget.UNLIMITED;
+		timeLimit = ResourceBudget.UNLIMITED;
+	}
+	
+	/**
+	 * Set resource limits of the diagnosis. Use
+	 * {@link ResourceBudget#UNLIMITED} for limits that are not set
+	 * 
+	 * @param maxEdges
+	 *            Maximum number of edges inferred in graph saturation
+	 * @param maxGrayNodes
+	 *            Maximum number of gray nodes created in graph saturation
+	 * @param maxSearchNodes
+	 *            Maximum number of search nodes explored when ranking
+	 *            explanations
+	 * @param timeLimit
+	 *            Wall-clock time limit in milliseconds
+	 */
+	public void setLimits(long maxEdges, long maxGrayNodes, long maxSearchNodes, long timeLimit) {
+		this.maxEdges = maxEdges;
+		this.maxGrayNodes = maxGrayNodes;
+		this.maxSearchNodes = maxSearchNodes;
+		this.timeLimit = timeLimit;
+		budget = null;
+	}
+	
+	/**
+	 * @return The resource budget shared by all stages of the diagnosis. The
+	 *         wall-clock time limit starts when the budget is first requested
+	 */
+	public ResourceBudget getBudget() {
+		if (budget == null)
+			budget = new ResourceBudget(maxEdges, maxGrayNodes, maxSearchNodes, timeLimit);
+		return budget;
 	}
 
 	/**
@@ -211,6 +307,14 @@ public class DiagnosticOptions {
 		return verbose;
 	}
 
+	/**
+	 * @return True to check if the top-ranked explanations eliminate all
+	 *         errors when they are removed from the constraint graph
+	 */
+	public boolean isValidate() {
+		return validate;
+	}
+
 	/**
 	 * @return True to output the entire constraint graph when -d is set
 	 */
@@ -224,4 +328,11 @@ public class DiagnosticOptions {
 	public int getNSubopt() {
 		return nSubopt;
 	}
+	
+	/**
+	 * @return Number of threads used to saturate constraint graphs
+	 */
+	public int getNThreads() {
+		return nThreads;
+	}
 }
\ No newline at end of file
@@ -6,9 +6,12 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
+import java.util.Collection;
 
 import sherrloc.constraint.analysis.ConstraintAnalysis;
 import sherrloc.constraint.analysis.ConstraintAnalysisImpl;
+import sherrloc.constraint.analysis.ResourceBudget;
+import sherrloc.constraint.ast.Constraint;
 import sherrloc.constraint.parse.GrmLexer;
 import sherrloc.constraint.parse.parser;
 import sherrloc.diagnostic.DiagnosticOptions.Mode;
@@ -37,7 +40,7 @@ public class ErrorDiagnosis implements PrettyPrinter {
 		graph = g;
 		this.option = option;
         util = new HTMLUtil();
-        cana = new ConstraintAnalysisImpl(option.isGenHypothesis(), option.isVerbose(), option.isRecursive());
+        cana = new ConstraintAnalysisImpl(option.isGenHypothesis(), option.isVerbose(), option.isRecursive(), option.getNThreads(), option.getBudget());
 	}
 
 	/**
@@ -79,6 +82,19 @@ public class ErrorDiagnosis implements PrettyPrinter {
 	 	return cana.genErrorPaths(graph).size();
 	}
 	
+	/**
+	 * Add constraints to the analyzed constraint graph, e.g., when a program
+	 * is edited. The saturated graph of the last analysis is reused, so only
+	 * the consequences of the new constraints are inferred
+	 * 
+	 * @param constraints
+	 *            Constraints to be added
+	 * @return Unsatisfiable paths that appear due to the new constraints
+	 */
+	public UnsatPaths addConstraints(Collection<Constraint> constraints) {
+		return cana.addConstraints(graph, constraints);
+	}
+	
 	/**
 	 * Use a error diagnosis algorithm as specified in configuration to find the
 	 * most likely cause of the error
@@ -106,6 +122,18 @@ public class ErrorDiagnosis implements PrettyPrinter {
     	return sb.toString();
     }
     
+	/**
+	 * @return A note on a partial result when the resource budget is
+	 *         exhausted, or an empty string otherwise
+	 */
+    private String getPartialNote () {
+    	ResourceBudget budget = option.getBudget();
+    	if (!budget.isExhausted())
+    		return "";
+    	return "Partial result: the " + budget.getExceededLimit()
+    			+ " limit was reached before the diagnosis completed, so errors and explanations may be missing.";
+    }
+    
     /**
      * Output the result into a format specified in configuration
      */
@@ -167,12 +195,18 @@ public class ErrorDiagnosis implements PrettyPrinter {
     	
     	// type check succeeded
     	if (paths.size()==0) {
-			sb.append("<H2>The program passed program analysis. No errors were found.</H2>");
+    		if (option.getBudget().isExhausted())
+    			sb.append("<H2>" + getPartialNote() + "</H2>");
+    		else
+    			sb.append("<H2>The program passed program analysis. No errors were found.</H2>");
             sb.append("<script type=\"text/javascript\">"+
                       "document.getElementById('feedback').style.display = 'none';</script>");
     	}
     	else {
-    		sb.append(getSuggestions(paths));
+    		String suggestions = getSuggestions(paths);
+    		if (option.getBudget().isExhausted())
+    			sb.append("<P><B>" + getPartialNote() + "</B></P>\n");
+    		sb.append(suggestions);
      		sb.append("<HR>\n" + paths.toHTMLString());
             sb.append("<button onclick=\"hide_all()\">hide all highlights</button><br>\n");
 
@@ -192,9 +226,14 @@ public class ErrorDiagnosis implements PrettyPrinter {
 
         // type check succeeded
         if (paths.size()==0) {
+        	if (option.getBudget().isExhausted())
+        		return getPartialNote();
 			return ("The program passed program analysis. No errors were found.");
 		} else {
-			return (getSuggestions(paths));
+			String suggestions = getSuggestions(paths);
+			if (option.getBudget().isExhausted())
+				return getPartialNote() + "\n" + suggestions;
+			return suggestions;
 		}
     }
     
@@ -5,6 +5,7 @@ import java.util.HashSet;
 import java.util.PriorityQueue;
 import java.util.Set;
 
+import sherrloc.constraint.analysis.ResourceBudget;
 import sherrloc.diagnostic.explanation.Entity;
 import sherrloc.diagnostic.explanation.Explanation;
 import sherrloc.graph.ConstraintPath;
@@ -20,6 +21,7 @@ public abstract class HeuristicSearch {
     protected UnsatPaths paths;
     private int nSubopt;
     private int subOptCount = 0;
+    private ResourceBudget budget = ResourceBudget.unlimited();
     
 	/**
 	 * @param candidates
@@ -35,6 +37,15 @@ public abstract class HeuristicSearch {
     	this.nSubopt = nSubopt;
 	}   
     
+	/**
+	 * @param budget
+	 *            Limits on the search. When the budget is exhausted, the
+	 *            explanations found so far are returned
+	 */
+    public void setBudget(ResourceBudget budget) {
+    	this.budget = budget;
+    }
+    
 	/**
 	 * A node in the search tree
 	 */
@@ -79,7 +90,8 @@ public abstract class HeuristicSearch {
     
     /**
 	 * @return Find a subset of candidates that 1) explains errors 2) minimizes
-	 *         the ranking metric
+	 *         the ranking metric. Only the explanations found so far are
+	 *         returned when the budget of the search is exhausted
 	 */
     public Set<Explanation> findOptimal ( ) {
     	Set<Explanation> ret = new HashSet<Explanation>();
@@ -92,6 +104,8 @@ public abstract class HeuristicSearch {
     	
     	// explore the first level
     	for (int i=0; i<candidates.length; i++) {
+    		if (!budget.spendSearchNode() || budget.isExhausted())
+    			return ret;
     		addSerchNode(queue, i, new SearchNode(new HashSet<Integer>(), 0, paths.getPaths(), 0.0));
     	}
     	
@@ -103,6 +117,8 @@ public abstract class HeuristicSearch {
     		
     		// explore the next level
         	for (int i=data.index; i<candidates.length-1; i++) {
+        		if (!budget.spendSearchNode() || budget.isExhausted())
+        			return ret;
         		addSerchNode(queue, i+1, data);
         	}
     	}
@@ -2,11 +2,19 @@ package sherrloc.diagnostic;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import sherrloc.constraint.analysis.DeletionAnalysis;
+import sherrloc.constraint.analysis.PathFinder;
+import sherrloc.constraint.analysis.ShortestPathFinder;
 import sherrloc.diagnostic.explanation.Entity;
 import sherrloc.diagnostic.explanation.Explanation;
+import sherrloc.graph.ConstraintGraph;
+import sherrloc.graph.ConstraintPath;
+import sherrloc.graph.Edge;
+import sherrloc.graph.Node;
 
 /**
  * Super class of all explanation inference algorithms.
@@ -31,6 +39,7 @@ public abstract class InferenceEngine {
 	public String infer( ) {
 		final Set<Entity> cand = getCandidates();
 		HeuristicSearch algorithm = getAlogithm(cand);
+		algorithm.setBudget(options.getBudget());
 
 		StringBuffer sb = new StringBuffer();
 		long startTime = System.currentTimeMillis();
@@ -67,6 +76,14 @@ public abstract class InferenceEngine {
 			sb.append("</UL>\n");
 //		if (options.isVerbose())
 		System.out.println("top_rank_size: " + i);
+		if (options.isValidate()) {
+			startTime = System.currentTimeMillis();
+			int validated = validate(list.subList(0, i));
+			endTime = System.currentTimeMillis();
+			System.out.println("top_rank_validated: " + validated);
+			if (options.isVerbose())
+				System.out.println("validation_time: " + (endTime - startTime));
+		}
 		if (i < list.size()) {
 			if (!options.isToConsole()) {
 				sb.append("<button onclick=\"show_more_expr()\">show/hide more</button><br>\n");
@@ -85,6 +102,60 @@ public abstract class InferenceEngine {
 		return sb.toString();
 	}
 
+	/**
+	 * Remove the entities of each explanation from the saturated constraint
+	 * graph, and check if all errors are gone (see {@link DeletionAnalysis})
+	 * 
+	 * @param explanations
+	 *            Explanations to be validated
+	 * @return Number of explanations that eliminate all errors
+	 */
+	private int validate(List<Explanation> explanations) {
+		if (paths.size() == 0)
+			return explanations.size();
+		PathFinder finder = paths.getPaths().iterator().next().getFinder();
+		if (!(finder instanceof ShortestPathFinder))
+			return 0;
+		ConstraintGraph graph = finder.getGraph();
+		DeletionAnalysis analysis = new DeletionAnalysis((ShortestPathFinder) finder);
+		List<Edge> allEdges = graph.getAllEdges();
+
+		int ret = 0;
+		for (Explanation expl : explanations) {
+			Set<Edge> edges = new HashSet<Edge>();
+			Set<Node> nodes = new HashSet<Node>();
+			boolean removable = true;
+			for (Entity entity : expl.getEntities()) {
+				if (!entity.isRemovable()) {
+					removable = false;
+					break;
+				}
+				for (Edge edge : allEdges) {
+					if (entity.removes(edge))
+						edges.add(edge);
+				}
+				for (Node node : graph.getAllNodes()) {
+					if (entity.removes(node))
+						nodes.add(node);
+				}
+			}
+			if (!removable)
+				continue;
+
+			analysis.remove(edges, nodes);
+			boolean fixed = true;
+			for (ConstraintPath path : paths.getPaths()) {
+				if (analysis.isDerivable(path)) {
+					fixed = false;
+					break;
+				}
+			}
+			if (fixed)
+				ret++;
+		}
+		return ret;
+	}
+
 	/**
 	 * @return A set of entities that the inference is performed on
 	 */
@@ -4,6 +4,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import sherrloc.constraint.analysis.ResourceBudget;
 import sherrloc.graph.ConstraintPath;
 import sherrloc.graph.Node;
 import sherrloc.util.HTMLUtil;
@@ -14,6 +15,8 @@ import sherrloc.util.PrettyPrinter;
  */
 public class UnsatPaths implements PrettyPrinter {
 	private Set<ConstraintPath> errPaths;
+	/** true if the analysis stopped before all paths were identified */
+	private boolean partial = false;
 
 	public UnsatPaths() {
 		errPaths = new HashSet<ConstraintPath>();
@@ -29,6 +32,22 @@ public class UnsatPaths implements PrettyPrinter {
 		errPaths.add(path);
 	}
 
+	/**
+	 * Mark the paths as partial results, when the analysis exhausts its
+	 * resource budget (see {@link ResourceBudget})
+	 */
+	public void setPartial(boolean partial) {
+		this.partial = partial;
+	}
+	
+	/**
+	 * @return True if the analysis stopped before all unsatisfiable paths
+	 *         were identified
+	 */
+	public boolean isPartial() {
+		return partial;
+	}
+
 	/**
 	 * @return # of unsatisfiable paths identified
 	 */
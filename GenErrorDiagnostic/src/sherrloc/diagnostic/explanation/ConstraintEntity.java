@@ -34,6 +34,16 @@ public class ConstraintEntity extends Entity {
 		return false;
 	}
 	
+	@Override
+	public boolean isRemovable() {
+		return true;
+	}
+	
+	@Override
+	public boolean removes(Edge edge) {
+		return edge instanceof ConstraintEdge && ((ConstraintEdge) edge).getConstraint().getPos().toString().equals(pos);
+	}
+	
 	@Override
 	public void toHTML(StringBuffer locBuf, StringBuffer expBuf) {
 		locBuf.append("['left', \'"+pos+"\'], ");
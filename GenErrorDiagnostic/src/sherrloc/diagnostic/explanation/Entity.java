@@ -1,6 +1,8 @@
 package sherrloc.diagnostic.explanation;
 
 import sherrloc.graph.ConstraintPath;
+import sherrloc.graph.Edge;
+import sherrloc.graph.Node;
 
 /**
  * Entities are the basic units of error report. In OCaml, the entities are
@@ -35,6 +37,32 @@ public abstract class Entity {
 	 */
 	public abstract boolean explains(ConstraintPath p);
 
+	/**
+	 * Returns true if the entity can be removed from the constraint graph to
+	 * test if errors are gone without the entity (see {@link #removes(Edge)}
+	 * and {@link #removes(Node)}). A hypothesis suppresses errors instead, so
+	 * it is not removable
+	 */
+	public boolean isRemovable() {
+		return false;
+	}
+
+	/**
+	 * Returns true if graph edge <code>edge</code> is removed along with the
+	 * entity
+	 */
+	public boolean removes(Edge edge) {
+		return false;
+	}
+
+	/**
+	 * Returns true if graph node <code>node</code> is removed along with the
+	 * entity
+	 */
+	public boolean removes(Node node) {
+		return false;
+	}
+
 	/**
 	 * Pretty print the entity for HTML
 	 * 
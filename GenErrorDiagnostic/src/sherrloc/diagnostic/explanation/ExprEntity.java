@@ -35,6 +35,16 @@ public class ExprEntity extends Entity {
 		return false;
 	}
 
+	@Override
+	public boolean isRemovable() {
+		return true;
+	}
+
+	@Override
+	public boolean removes(Node node) {
+		return node.toString().equals(expr);
+	}
+
 	@Override
 	public void toHTML(StringBuffer locBuf, StringBuffer expBuf) {
 		locBuf.append("['pathelement', \'" + loc + "\'], ");
@@ -0,0 +1,277 @@
+package sherrloc.graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import sherrloc.constraint.ast.Element;
+import sherrloc.constraint.ast.QuantifiedVariable;
+import sherrloc.constraint.ast.Variable;
+
+/**
+ * A constraint graph where variables that are equal to each other are merged
+ * into one node. Two variables are equal when they flow into each other by
+ * constraint edges (e.g., an equation), and equal variables are merged by
+ * union-find. The first variable of each class (in the order of creation)
+ * represents the class, and the other variables in the class are mapped to
+ * the same node.
+ * <p>
+ * Saturating the condensed graph derives the same partial orderings on
+ * classes as saturating the original graph, since variables in a class are
+ * interchangeable. Each edge in the condensed graph comes from an edge in the
+ * original graph, and the edges inside a class are kept in the original graph
+ * only, so that a path in the condensed graph can be expanded to a path in
+ * the original graph (see {@link #getOriginalEdge(Edge)} and
+ * {@link #getInnerPath(Node, Node)}).
+ */
+public class CondensedGraph extends ConstraintGraph {
+	private final ConstraintGraph original;
+	/** maps from nodes in the original graph to nodes in this graph, and back */
+	private Map<Node, Node> toCondensed = new HashMap<Node, Node>();
+	private Map<Node, Node> toOriginal = new HashMap<Node, Node>();
+	/** original nodes represented by each merged node */
+	private Map<Node, List<Node>> members = new HashMap<Node, List<Node>>();
+	/** the original edge of each edge in this graph */
+	private Map<Edge, Edge> origins = new HashMap<Edge, Edge>();
+
+	/**
+	 * @param original
+	 *            A generated graph (see {@link ConstraintGraph#generateGraph()})
+	 *            to be condensed
+	 */
+	public CondensedGraph(ConstraintGraph original) {
+		super(original.getEnv(), original.getRules());
+		this.original = original;
+
+		// union-find on indices of the original nodes
+		int size = 0;
+		for (Node n : original.getAllNodes())
+			size = Math.max(size, n.getIndex() + 1);
+		int[] parent = new int[size];
+		for (int i = 0; i < size; i++)
+			parent[i] = i;
+		for (Edge edge : original.getAllEdges()) {
+			if (edge instanceof ConstraintEdge && isMergeable(edge.getFrom()) && isMergeable(edge.getTo())
+					&& original.getLeqEdge(edge.getTo(), edge.getFrom()) instanceof ConstraintEdge) {
+				int r1 = find(parent, edge.getFrom().getIndex());
+				int r2 = find(parent, edge.getTo().getIndex());
+				parent[Math.max(r1, r2)] = Math.min(r1, r2);
+			}
+		}
+
+		// nodes are created in the order of the original graph, so that the
+		// saturation visits them in the same order
+		Map<Integer, Node> classes = new HashMap<Integer, Node>();
+		for (Node n : original.getAllNodes()) {
+			int root = find(parent, n.getIndex());
+			Node rep = classes.get(root);
+			if (rep == null) {
+				rep = getNode(n.getElement(), n.isGray());
+				classes.put(root, rep);
+				toOriginal.put(rep, n);
+			} else {
+				mapElement(n.getElement(), rep);
+				if (!members.containsKey(rep)) {
+					members.put(rep, new ArrayList<Node>());
+					members.get(rep).add(toOriginal.get(rep));
+				}
+			}
+			toCondensed.put(n, rep);
+			if (members.containsKey(rep))
+				members.get(rep).add(n);
+		}
+
+		for (Edge edge : original.getAllEdges()) {
+			Node from = toCondensed.get(edge.getFrom());
+			Node to = toCondensed.get(edge.getTo());
+			if (from == to)
+				continue;
+			Edge copy;
+			if (edge instanceof ConstraintEdge)
+				copy = new ConstraintEdge(((ConstraintEdge) edge).getConstraint(), from, to);
+			else if (edge instanceof JoinEdge)
+				copy = new JoinEdge(from, to);
+			else if (edge instanceof MeetEdge)
+				copy = new MeetEdge(from, to);
+			else if (edge instanceof ConstructorEdge)
+				copy = new ConstructorEdge(((ConstructorEdge) edge).getCondition(), from, to);
+			else
+				continue;
+			boolean added = copy instanceof ConstructorEdge ? addConEdge((ConstructorEdge) copy) : addLeqEdge(copy);
+			if (added)
+				origins.put(copy, edge);
+		}
+	}
+
+	/**
+	 * @return True if <code>n</code> can be merged with other nodes
+	 */
+	private static boolean isMergeable(Node n) {
+		Element e = n.getElement();
+		return e instanceof Variable && !(e instanceof QuantifiedVariable);
+	}
+
+	private static int find(int[] parent, int i) {
+		while (parent[i] != i) {
+			parent[i] = parent[parent[i]];
+			i = parent[i];
+		}
+		return i;
+	}
+
+	/**
+	 * @return The graph that is condensed
+	 */
+	public ConstraintGraph getOriginal() {
+		return original;
+	}
+
+	/**
+	 * @return The node in this graph that represents node <code>n</code> in
+	 *         the original graph
+	 */
+	public Node getCondensedNode(Node n) {
+		Node ret = toCondensed.get(n);
+		if (ret == null) {
+			// a node created in the original graph after condensation
+			ret = getNode(n.getElement(), n.isGray());
+			toCondensed.put(n, ret);
+			toOriginal.put(ret, n);
+		}
+		return ret;
+	}
+
+	/**
+	 * @return A node in the original graph represented by node <code>n</code>
+	 *         in this graph. A node created during the saturation of this
+	 *         graph is created in the original graph as a gray node as well
+	 */
+	public Node getOriginalNode(Node n) {
+		Node ret = toOriginal.get(n);
+		if (ret == null) {
+			ret = original.getNode(n.getElement(), true);
+			toOriginal.put(n, ret);
+			toCondensed.put(ret, n);
+		}
+		return ret;
+	}
+
+	/**
+	 * @return All nodes in the original graph represented by node
+	 *         <code>n</code> in this graph
+	 */
+	public List<Node> getMembers(Node n) {
+		if (members.containsKey(n))
+			return members.get(n);
+		return Collections.singletonList(getOriginalNode(n));
+	}
+
+	/**
+	 * @return True if node <code>n</code> in the original graph is merged with
+	 *         other nodes
+	 */
+	public boolean isMerged(Node n) {
+		return members.containsKey(toCondensed.get(n));
+	}
+
+	/**
+	 * Return the edge in the original graph where <code>edge</code> comes
+	 * from. The reverse of an edge in this graph (see
+	 * {@link Edge#getReverse()}) is mapped to the reverse of the original edge
+	 *
+	 * @return The original edge, or null if <code>edge</code> is not in this
+	 *         graph
+	 */
+	public Edge getOriginalEdge(Edge edge) {
+		Edge ret = origins.get(edge);
+		if (ret == null) {
+			ret = origins.get(edge.getReverse());
+			if (ret != null)
+				ret = ret.getReverse();
+		}
+		return ret;
+	}
+
+	/**
+	 * Return a shortest path from <code>from</code> to <code>to</code> on the
+	 * constraint edges inside a class of equal variables, computed by a
+	 * breadth-first search in the original graph
+	 *
+	 * @param from
+	 *            A node in the original graph
+	 * @param to
+	 *            A node in the original graph, which is merged with
+	 *            <code>from</code>
+	 * @return Edges in the original graph from <code>from</code> to
+	 *         <code>to</code>. Empty if the nodes are the same or are not
+	 *         merged
+	 */
+	public List<Edge> getInnerPath(Node from, Node to) {
+		LinkedList<Edge> ret = new LinkedList<Edge>();
+		Node rep = toCondensed.get(from);
+		if (from == to || rep == null || rep != toCondensed.get(to))
+			return ret;
+		Map<Node, Edge> via = new HashMap<Node, Edge>();
+		LinkedList<Node> queue = new LinkedList<Node>();
+		queue.add(from);
+		via.put(from, null);
+		while (!queue.isEmpty() && !via.containsKey(to)) {
+			Node n = queue.poll();
+			for (Edge edge : original.leqEdges.get(n).values()) {
+				Node m = edge.getTo();
+				if (edge instanceof ConstraintEdge && toCondensed.get(m) == rep && !via.containsKey(m)) {
+					via.put(m, edge);
+					queue.add(m);
+				}
+			}
+		}
+		for (Edge edge = via.get(to); edge != null; edge = via.get(edge.getFrom()))
+			ret.addFirst(edge);
+		return ret;
+	}
+
+	/**
+	 * Replace the edges of a path in this graph by the original
+	 * edges, and insert the edges inside a class of equal variables when
+	 * necessary
+	 *
+	 * @param path
+	 *            A path in this graph
+	 * @param start
+	 *            Start of the path in the original graph
+	 * @param end
+	 *            End of the path in the original graph
+	 * @return A path in the original graph
+	 */
+	public List<Edge> expandPath(List<Edge> path, Node start, Node end) {
+		List<Edge> ret = new ArrayList<Edge>();
+		Node current = start;
+		for (int i = 0; i < path.size(); i++) {
+			Edge edge = path.get(i);
+			if (edge instanceof DummyEdge) {
+				// land on the node where the path continues
+				Node next = end;
+				for (int j = i + 1; j < path.size(); j++) {
+					if (!(path.get(j) instanceof DummyEdge)) {
+						next = getOriginalEdge(path.get(j)).getFrom();
+						break;
+					}
+				}
+				if (getCondensedNode(next) != edge.getTo())
+					next = getOriginalNode(edge.getTo());
+				ret.add(new DummyEdge(current, next, ((DummyEdge) edge).isLeft));
+				current = next;
+			} else {
+				Edge original = getOriginalEdge(edge);
+				ret.addAll(getInnerPath(current, original.getFrom()));
+				ret.add(original);
+				current = original.getTo();
+			}
+		}
+		ret.addAll(getInnerPath(current, end));
+		return ret;
+	}
+}
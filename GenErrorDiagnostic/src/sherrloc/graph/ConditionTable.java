@@ -0,0 +1,85 @@
+package sherrloc.graph;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Edge conditions of a constraint graph, numbered by dense integer ids so that
+ * saturation tables can use ids instead of hashing conditions. Ids
+ * {@link #LEQ} and {@link #LEQ_REV} are reserved for {@link LeqCondition} and
+ * {@link LeqRevCondition}. Pairs of matching conditions (see
+ * {@link EdgeCondition#matches(EdgeCondition)}) are computed when a condition
+ * is numbered, so that matching is a lookup on ids.
+ */
+public class ConditionTable {
+	public static final int LEQ = 0, LEQ_REV = 1;
+
+	private List<EdgeCondition> conditions = new ArrayList<EdgeCondition>();
+	private Map<EdgeCondition, Integer> ids = new HashMap<EdgeCondition, Integer>();
+	/** ids of the conditions that match each condition */
+	private List<BitSet> matching = new ArrayList<BitSet>();
+
+	public ConditionTable() {
+		add(LeqCondition.getInstance());
+		add(LeqRevCondition.getInstance());
+	}
+
+	private int add(EdgeCondition ec) {
+		int id = conditions.size();
+		conditions.add(ec);
+		ids.put(ec, id);
+		BitSet matches = new BitSet();
+		if (id > LEQ_REV) {
+			for (int i = LEQ_REV + 1; i < id; i++) {
+				if (ec.matches(conditions.get(i))) {
+					matches.set(i);
+					matching.get(i).set(id);
+				}
+			}
+		}
+		matching.add(matches);
+		return id;
+	}
+
+	/**
+	 * @return The id of <code>ec</code>, which is numbered when it is not in
+	 *         the table yet
+	 */
+	public int getId(EdgeCondition ec) {
+		Integer id = ids.get(ec);
+		return id == null ? add(ec) : id;
+	}
+
+	/**
+	 * @return The id of <code>ec</code>, or -1 if it is not in the table
+	 */
+	public int find(EdgeCondition ec) {
+		Integer id = ids.get(ec);
+		return id == null ? -1 : id;
+	}
+
+	/**
+	 * @return The condition numbered <code>id</code>
+	 */
+	public EdgeCondition get(int id) {
+		return conditions.get(id);
+	}
+
+	/**
+	 * @return True if the conditions numbered <code>id1</code> and
+	 *         <code>id2</code> match each other
+	 */
+	public boolean matches(int id1, int id2) {
+		return matching.get(id1).get(id2);
+	}
+
+	/**
+	 * @return Number of conditions in the table
+	 */
+	public int size() {
+		return conditions.size();
+	}
+}
@@ -22,6 +22,7 @@ import sherrloc.constraint.ast.Inequality;
 import sherrloc.constraint.ast.JoinElement;
 import sherrloc.constraint.ast.MeetElement;
 import sherrloc.constraint.ast.Position;
+import sherrloc.constraint.ast.QuantifiedVariable;
 import sherrloc.constraint.ast.Relation;
 import sherrloc.constraint.ast.Variable;
 import sherrloc.constraint.ast.VariableApplication;
@@ -47,11 +48,14 @@ public class ConstraintGraph extends Graph {
     private boolean isSymmetric=true;
     
 	/** Optimizations */
-	private final boolean USE_OPT = false;
 	private boolean OPT_AXIOMS = true;
 	// A map from base elements (elements with no position info) to potentially multiple uses of the element
 	// Useful for matching axioms in a graph.
 	private Map<Element, List<Node>> baseToNodes = new HashMap<Element, List<Node>>();
+	// An index from heads of elements (e.g., constructors) to nodes, for matching axioms with quantified variables
+	private HeadIndex heads = new HeadIndex();
+	// Conditions of constructor edges, numbered when the edges are added
+	private ConditionTable conditions = new ConditionTable();
 	
 	/**
 	 * @param env
@@ -112,10 +116,20 @@ public class ConstraintGraph extends Graph {
             if (!baseToNodes.containsKey(baseEle))
             	baseToNodes.put(baseEle, new ArrayList<Node>());
             baseToNodes.get(baseEle).add(n);
+            heads.add(n);
         }
         return eleToNode.get(e);
     }
     
+	/**
+	 * Let element <code>e</code> be represented by an existing node
+	 * <code>n</code>, which represents an equal element
+	 * (see {@link CondensedGraph})
+	 */
+    void mapElement (Element e, Node n) {
+    	eleToNode.put(e, n);
+    }
+    
     /**
 	 * Return a node with index idx. Return null if no such node exists
 	 * 
@@ -143,6 +157,16 @@ public class ConstraintGraph extends Graph {
 		return baseToNodes.get(baseElement);
 	}
     
+    /**
+     * @return Nodes that may unify with element <code>e</code>, which may
+     *         contain quantified variables, under substitution
+     *         <code>map</code> (see {@link HeadIndex})
+     */
+    public Collection<Node> getCandidateNodes(Element e, Map<QuantifiedVariable, Element> map) {
+    	List<Node> ret = heads.getCandidates(e, map);
+    	return ret == null ? getAllNodes() : ret;
+    }
+    
 	/**
 	 * Adding a constraint to graph (add edges between nodes representing
 	 * constraint elements)
@@ -151,17 +175,75 @@ public class ConstraintGraph extends Graph {
 	 *            Constraint
 	 */
     public void addOneConstraint (Constraint cons) {
+    	addOneConstraint(cons, null);
+    }
+    
+	/**
+	 * Adding a constraint to graph, and collect the edges that are not
+	 * represented in graph before
+	 * 
+	 * @param cons
+	 *            Constraint
+	 * @param added
+	 *            New edges are added to this list, when it is not null
+	 */
+    private void addOneConstraint (Constraint cons, List<Edge> added) {
 		Node source = getNode(cons.getFirstElement());
 		Node to = getNode(cons.getSecondElement());
 
-		addLeqEdge(new ConstraintEdge(cons, source, to));
+		addLeqEdge(new ConstraintEdge(cons, source, to), added);
 
 		if (cons.getRelation() == Relation.EQ)
-			addLeqEdge(new ConstraintEdge(cons, to, source));
+			addLeqEdge(new ConstraintEdge(cons, to, source), added);
 		else
 			isSymmetric = false;
     }
     
+	/**
+	 * Add constraints to a generated graph (see {@link #generateGraph()}).
+	 * Extra nodes and edges are generated for the constructor, join and meet
+	 * elements that are not represented in graph before, or are only
+	 * represented by gray nodes
+	 * 
+	 * @param constraints
+	 *            Constraints to be added
+	 * @return Edges that are not represented in graph before
+	 */
+    public List<Edge> addConstraints (Collection<Constraint> constraints) {
+    	int firstNew = varCounter;
+    	List<Edge> added = new ArrayList<Edge>();
+    	List<Element> workingList = new ArrayList<Element>();
+    	for (Constraint cons : constraints) {
+    		addOneConstraint(cons, added);
+    		for (Element e : new Element[] {cons.getFirstElement(), cons.getSecondElement()}) {
+    			Node n = getNode(e);
+    			if ((n.getIndex() >= firstNew || n.isGray()) && !workingList.contains(e))
+    				workingList.add(e);
+    		}
+    	}
+    	Set<Element> expanded = expandElements(workingList, firstNew, added);
+    	
+    	if (env != null)
+    		env.addNewElements(expanded);
+    	return added;
+    }
+    
+    private void addLeqEdge (Edge edge, List<Edge> added) {
+    	if (addLeqEdge(edge) && added != null)
+    		added.add(edge);
+    }
+    
+    @Override
+    protected boolean addConEdge (ConstructorEdge edge) {
+    	conditions.getId(edge.getCondition());
+    	return super.addConEdge(edge);
+    }
+    
+    private void addConEdge (ConstructorEdge edge, List<Edge> added) {
+    	if (addConEdge(edge) && added != null)
+    		added.add(edge);
+    }
+    
     /**
 	 * Adding an inequality to graph
 	 * 
@@ -196,6 +278,13 @@ public class ConstraintGraph extends Graph {
     public List<Axiom> getRules() {
 		return rules;
 	}
+
+    /**
+     * @return Edge conditions of the graph, numbered by dense ids
+     */
+    public ConditionTable getConditions() {
+		return conditions;
+	}
     
 	/**
 	 * Generate a constraint graph from constraints
@@ -210,53 +299,7 @@ public class ConstraintGraph extends Graph {
          * 2. Edges from components to a join element
          * 3. Edges from a meet element to components
          */		
-        List<Element> workingList = new ArrayList<Element>(eleToNode.keySet());
-        Set<Element> processed = new HashSet<Element>();
-        
-        while (workingList.size()!=0) {
-        	Element e = workingList.get(0);
-        	Node currentnode = getNode(e);
-            workingList.remove(0);
-            processed.add(e);
-            
-            // generate the source node
-            Collection<Element> compset;
-            
-            if (e instanceof EnumerableElement){
-            	EnumerableElement ee = (EnumerableElement) e;
-            	compset = ee.getElements();
-            	
-            	int index=0;
-                for (Element element : compset) {
-                    Node compnode = getNode(element);
-                    index++;
-                    // add the component element to the working list if not seen before
-                    if (!processed.contains(element) && !workingList.contains(element))
-                        workingList.add(element);
-                    
-                    if (e instanceof MeetElement) {
-                    	addLeqEdge(new MeetEdge(currentnode, compnode));
-                    }
-                    else if (e instanceof JoinElement) {
-                    	addLeqEdge(new JoinEdge(compnode, currentnode));
-                    }
-                    else if (e instanceof Application){
-                    	Application ae = (Application)e;
-                    	Variance variance = ae.getVariance();
-                    	if (ae instanceof ConstructorApplication && !ae.getVariance().equals(Variance.NONE)) {
-                        	addConEdge(new ConstructorEdge(new EdgeCondition(((ConstructorApplication)ae).getCons(), index, false, variance), compnode, currentnode));
-                        	addConEdge(new ConstructorEdge(new EdgeCondition(((ConstructorApplication)ae).getCons(), index, true, variance), currentnode, compnode));
-                    	}
-                    	else if (ae instanceof VariableApplication && !ae.getVariance().equals(Variance.NONE)) {
-                    		addConEdge(new ConstructorEdge(new EdgeCondition(((VariableApplication)ae).getCons(), index, false, variance), compnode, currentnode));
-                    		addConEdge(new ConstructorEdge(new EdgeCondition(((VariableApplication)ae).getCons(), index, true, variance), currentnode, compnode));
-                    	}
-                    }
-                }
-            }
-        }
-        if (USE_OPT)
-        	removeDominatedVariables();
+        expandElements(new ArrayList<Element>(eleToNode.keySet()), 0, null);
 
         if (OPT_AXIOMS) {
         	List<Axiom> useless = new ArrayList<Axiom>();
@@ -302,201 +345,67 @@ public class ConstraintGraph extends Graph {
         	env.addElements(getAllElements());
     }
     
-    /**
-     * Return a unique neighbor except prev, if such neighbor exists
-     * 
-     * @param current Current node
-     * @param prev Previous node to exclude
-     * @return A unique neighbor of current
-     */
-    private List<Node> getNewOutNodes (Node current, Node prev, List<Node> chain) {
-    	if (leqEdges.get(current) == null)
-    		return new ArrayList<Node>();
-    	List<Node> neighbors = new ArrayList<Node>(leqEdges.get(current).keySet());
-    	neighbors.remove(current);
-    	neighbors.remove(prev);
-    	for (Node n : chain)
-    		neighbors.remove(n);
-    	return neighbors;
-    }
-    
-    private List<Node> getNewInNodes (Node current, Node prev, List<Node> chain, List<Node> outs, Set<Node> indeg) {
-    	if (indeg.size() == 0)
-    		return new ArrayList<Node>();
-    	List<Node> neighbors = new ArrayList<Node>(indeg);
-    	neighbors.remove(prev);
-    	neighbors.remove(current);
-    	for (Node n : chain)
-    		neighbors.remove(n);
-    	for (Node n : outs)
-    		neighbors.remove(n);
-    	return neighbors;
-    }
-    
-    /**
-     * Sanity check
-     */
-    private void checkRemovedNodes () {
-    	for (Node node : allNodes) {
-    		if (!leqEdges.containsKey(node)) {
-				throw new RuntimeException("an node in allNodes is removed from edges");
-    		}
-    		for (Node n2 : leqEdges.get(node).keySet())
-    			if (!allNodes.contains(n2)) {
-    				throw new RuntimeException("Node "+node+" still has "+n2);
-    			}
-    	}
-    }
-    
-    /**
-	 * A node n is entry only iff 1. there is only one out edge 2. there are two
-	 * out edges, and both of the out nodes are in the innodes
-	 * 
-	 * @param n
-	 * @return
-	 */
-    private boolean entryOnly (Node n, Set<Node> innodes) {
-    	if (leqEdges.get(n).size() == 1)
-    		return true;
-    	if (leqEdges.get(n).size() == 2) {
-    		for (Node in : innodes) {
-    			if (!leqEdges.get(n).keySet().contains(in))
-    				return false;
-    		}
-    		return true;
-    	}
-    	return false;
-    }
-    
-    /**
-	 * A node n is entry only iff 1. there is only no in edge other than that
-	 * already in chain 2. there is one in edge, other than that in chain, and
-	 * it's the only way out
+	/**
+	 * Generate extra nodes and edges for the constructor, join and meet
+	 * elements in a working list, as well as their components
 	 * 
-	 * @param n
-	 * @return
-	 */
-    private boolean exitOnly (Node n, List<Node> chain, List<Node> innodes) {
-    	if (innodes.size() == 0)
-    		return true;
-    	if (innodes.size() == 1) {
-    		Node from = innodes.iterator().next();
-    		if (getNewOutNodes(n, from, chain).isEmpty())
-    			return true;
-    	}
-    	return false;
-    }
-    
-    /**
-	 * Combine two variables A and B if they show up in the following pattern:
-	 * in -- A -- B -- out
+	 * @param workingList
+	 *            Elements to be expanded
+	 * @param firstNew
+	 *            Components represented by black nodes with smaller indices
+	 *            are already expanded
+	 * @param added
+	 *            New edges are added to this list, when it is not null
+	 * @return Expanded elements
 	 */
-    private void removeDominatedVariables () {
-    	int nodesBefore = allNodes.size();
-
-    	Set<Node>[] indeg = new Set[nodesBefore];
-    	Set<Node>[] incon = new Set[nodesBefore];
-    	for (int i=0; i<nodesBefore; i++) {
-    		indeg[i] = new HashSet<Node>();
-    		incon[i] = new HashSet<Node>();
-    	}
-    	for (Node n1 : allNodes) {
-    		for (Node n2 : allNodes) {
-    			if (!n1.equals(n2) && hasLeqEdge(n1, n2))
-    				indeg[n2.getIndex()].add(n1);
-    			if (!n1.equals(n2) && hasConEdge(n1, n2))
-					incon[n2.getIndex()].add(n1);
-			}
-    	}
-    	
-    	boolean modified;
-    	do {    	
-        	List<Node> chain = new ArrayList<Node>();
-        	modified = false;
-			
-        	for (Node n1 : allNodes) {    	
-				// the first node must be "entrance only", meaning that either
-				// it has a single out edge, edge to the next node in chain, or
-        		// it has two out edges, and one of them is the only way to get in
-        		if (!(n1.getElement() instanceof Variable))
-        			continue;
-        		
-        		if (!entryOnly(n1, indeg[n1.getIndex()]) || !incon[n1.getIndex()].isEmpty() 
-						|| !conEdges.get(n1).keySet().isEmpty())
-        			continue;
-        		
-//        		if (indeg[n1.getIndex()].size()==1)
-//        			continue;
-        		
-        		Map<Node, Edge> outs = leqEdges.get(n1);
-        		for (Node n2 : outs.keySet()) {
-					// identify a chain of variables n1 -- n2 --
-					// ... -- nm -- .. such that all of n1 to nm have at most 1
-					// unique neighbor besides the previous node and itself
-        			if (n2.equals(n1))
-        				continue;
-            		chain.clear();
-            		chain.add(n1);
-
-					Node next = n2, prev = n1;
-					List<Node> outNodes = getNewOutNodes(next, prev, chain);
-					if (outNodes.size()>1)
-						continue;
-					List<Node> inNodes = getNewInNodes(next, prev, chain, outNodes, indeg[next.getIndex()]);
-					while ( outNodes.size() <= 1 && (next.getElement() instanceof Variable)
-							&& (chain.isEmpty() || inNodes.isEmpty()) && incon[next.getIndex()].isEmpty() 
-							&& conEdges.get(next).keySet().isEmpty()) {
-//							&& (indeg[next.getIndex()].size() == 1 || //false)) {
-//							(indeg[next.getIndex()].size() == 2 && outNodes.size() == 1 && 
-//							edges.get(outNodes.get(0)).containsKey(next)))) {
-						chain.add(next);
-						prev = next;
-						if (outNodes.size() == 1)
-							next = outNodes.get(0);
-						else {
-							break;
-						}
-						outNodes = getNewOutNodes(next, prev, chain);
-						inNodes = getNewInNodes(next, prev, chain, outNodes, indeg[next.getIndex()]);
-					}
-					// the last node should have no incoming edges except that from the chain
-					if (outNodes.size() != 0 && exitOnly(next, chain, inNodes)
-							&& incon[next.getIndex()].isEmpty() 
-							&& conEdges.get(next).keySet().isEmpty())
-						chain.add(next);
-
-					if (chain.size() > 1) {
-						modified = true;
-						break;
-					}
-				}
-        		if (modified)
-        			break;
-        	}
-
-        	// remove nodes
-        	if (chain.size() > 1) {
-//        		Node last=chain.get(chain.size()-1);
-//        		for (Node node : chain) {
-//        			System.out.print(node.getElement().toDetailString()+ "-->");
-//        		}
-//        		System.out.println("");
-        		collapse(chain, indeg, eleToNode);
-//				checkRemovedNodes();
-			}
-    	}
-    	while (modified);
-    	
-    	// fix indices
-    	int count = 0;
-    	for (Node n : allNodes) {
-    		n.setIndex(count);
-    		count ++;
-    	}
-    	
-    	int nodesAfter = allNodes.size();
-    	if (nodesAfter < nodesBefore)
-    		System.out.println("[Remove dominated] Reduced node size from " + nodesBefore + " to " + nodesAfter);
+    private Set<Element> expandElements (List<Element> workingList, int firstNew, List<Edge> added) {
+        Set<Element> processed = new HashSet<Element>();
+        
+        while (workingList.size()!=0) {
+        	Element e = workingList.get(0);
+        	Node currentnode = getNode(e);
+            workingList.remove(0);
+            processed.add(e);
+            // gray nodes are not expanded during saturation
+            currentnode.markAsBlack();
+            
+            // generate the source node
+            Collection<Element> compset;
+            
+            if (e instanceof EnumerableElement){
+            	EnumerableElement ee = (EnumerableElement) e;
+            	compset = ee.getElements();
+            	
+            	int index=0;
+                for (Element element : compset) {
+                    Node compnode = getNode(element);
+                    index++;
+                    // add the component element to the working list if not seen before
+                    if ((compnode.getIndex() >= firstNew || compnode.isGray()) && !processed.contains(element) && !workingList.contains(element))
+                        workingList.add(element);
+                    
+                    if (e instanceof MeetElement) {
+                    	addLeqEdge(new MeetEdge(currentnode, compnode), added);
+                    }
+                    else if (e instanceof JoinElement) {
+                    	addLeqEdge(new JoinEdge(compnode, currentnode), added);
+                    }
+                    else if (e instanceof Application){
+                    	Application ae = (Application)e;
+                    	Variance variance = ae.getVariance();
+                    	if (ae instanceof ConstructorApplication && !ae.getVariance().equals(Variance.NONE)) {
+                        	addConEdge(new ConstructorEdge(new EdgeCondition(((ConstructorApplication)ae).getCons(), index, false, variance), compnode, currentnode), added);
+                        	addConEdge(new ConstructorEdge(new EdgeCondition(((ConstructorApplication)ae).getCons(), index, true, variance), currentnode, compnode), added);
+                    	}
+                    	else if (ae instanceof VariableApplication && !ae.getVariance().equals(Variance.NONE)) {
+                    		addConEdge(new ConstructorEdge(new EdgeCondition(((VariableApplication)ae).getCons(), index, false, variance), compnode, currentnode), added);
+                    		addConEdge(new ConstructorEdge(new EdgeCondition(((VariableApplication)ae).getCons(), index, true, variance), currentnode, compnode), added);
+                    	}
+                    }
+                }
+            }
+        }
+        return processed;
     }
     
 	/**
@@ -51,6 +51,14 @@ public class ConstraintPath {
 		return edges.size();
 	}
 
+	/**
+	 * @return The {@link PathFinder} that contains the saturated graph where
+	 *         the path is found
+	 */
+	public PathFinder getFinder() {
+		return finder;
+	}
+
 	/**
 	 * @return All edges along the constraint path
 	 */
@@ -14,6 +14,8 @@ public class EdgeCondition {
 	private final int index;
 	private final boolean reverse;
 	private final Variance variance;
+	/** cached hash code, since conditions are used as hash keys */
+	private int hash = 0;
 	
 	/**
 	 * @param con
@@ -102,7 +104,9 @@ public class EdgeCondition {
 	
 	@Override
 	public int hashCode() {
-		return con.hashCode() * 1237 + index * 131 + variance.ordinal()*5 + (reverse?1:0);
+		if (hash == 0)
+			hash = con.hashCode() * 1237 + index * 131 + variance.ordinal()*5 + (reverse?1:0);
+		return hash;
 	}
 	
 	/**
@@ -116,7 +120,9 @@ public class EdgeCondition {
 	 * @param c
 	 *            {@link EdgeCondition}
 	 * 
-	 * @return True if current condition matches parameter
+	 * @return True if current condition matches parameter. Conditions in a
+	 *         graph are matched by their ids instead (see
+	 *         {@link ConditionTable#matches(int, int)})
 	 */
 	public boolean matches (EdgeCondition c) {
 		boolean sameCons = false;
@@ -1,14 +1,13 @@
 package sherrloc.graph;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import sherrloc.constraint.ast.Element;
-
 /**
  * This class provide basic functions of a graph
  */
@@ -17,10 +16,12 @@ public abstract class Graph {
 	protected Map<Node, Map<Node, Edge>> leqEdges;
 	protected Map<Node, Map<Node, Set<ConstructorEdge>>> conEdges;
 	
+	// nodes and edges are kept in insertion order, so that graph saturation
+	// visits them in the same order on every run
 	protected Graph( ) {
-		allNodes = new HashSet<Node>();
-		leqEdges = new HashMap<Node, Map<Node,Edge>>();
-		conEdges = new HashMap<Node, Map<Node,Set<ConstructorEdge>>>();
+		allNodes = new LinkedHashSet<Node>();
+		leqEdges = new LinkedHashMap<Node, Map<Node,Edge>>();
+		conEdges = new LinkedHashMap<Node, Map<Node,Set<ConstructorEdge>>>();
 	}
 	
 	/**
@@ -31,8 +32,8 @@ public abstract class Graph {
 	 */
 	protected void addNode (Node n) {
 		allNodes.add(n);
-		leqEdges.put(n, new HashMap<Node, Edge>());
-		conEdges.put(n, new HashMap<Node, Set<ConstructorEdge>>());
+		leqEdges.put(n, new LinkedHashMap<Node, Edge>());
+		conEdges.put(n, new LinkedHashMap<Node, Set<ConstructorEdge>>());
 	}
 
 	/**
@@ -41,16 +42,20 @@ public abstract class Graph {
 	 * 
 	 * @param edge
 	 *            Edge to be added
+	 * @return True if the edge is not represented in graph before
 	 */
-    protected void addLeqEdge (Edge edge) {
+    protected boolean addLeqEdge (Edge edge) {
     	Node from = edge.from;
     	Node to = edge.to;
     	if (!allNodes.contains(from))
     		addNode(from);
     	if (!allNodes.contains(to))
     		addNode(to);
-    	if (!hasLeqEdge(from, to) && !from.equals(to))
+    	if (!hasLeqEdge(from, to) && !from.equals(to)) {
     		leqEdges.get(from).put(to, edge);
+    		return true;
+    	}
+    	return false;
     }
     
     /**
@@ -59,8 +64,9 @@ public abstract class Graph {
 	 * 
 	 * @param edge
 	 *            Edge to be added
+	 * @return True if the edge is not represented in graph before
 	 */
-    protected void addConEdge (ConstructorEdge edge) {
+    protected boolean addConEdge (ConstructorEdge edge) {
     	Node from = edge.from;
     	Node to = edge.to;
     	if (!allNodes.contains(from))
@@ -68,8 +74,8 @@ public abstract class Graph {
     	if (!allNodes.contains(to))
     		addNode(to);
     	if (!hasConEdge(from, to))
-    		conEdges.get(from).put(to, new HashSet<ConstructorEdge>());
-    	conEdges.get(from).get(to).add(edge);
+    		conEdges.get(from).put(to, new LinkedHashSet<ConstructorEdge>());
+    	return conEdges.get(from).get(to).add(edge);
     }
     
 	/**
@@ -172,72 +178,6 @@ public abstract class Graph {
     	return ret;
     }
     
-    /**
-	 * This method takes a list of nodes, and collapse them into the first node.
-	 * The connectivity to the remaining of graph is maintained
-	 * 
-	 * @param nodes
-	 *            A list of nodes to be collapsed
-	 */
-    protected void collapse (List<Node> nodes, Set<Node>[] indeg, Map<Element, Node> eleToNode) {
-		Node center = nodes.remove(0);
-
-		// collect outgoing edges where the end node is not to be collapsed
-		List<Edge> outEdges = new ArrayList<Edge>();
-		List<Edge> inEdges = new ArrayList<Edge>();
-		for (int i=0; i<nodes.size(); i++) {
-			Node cur = nodes.get(i);
-			for (Node end : leqEdges.get(cur).keySet()) {
-				if (!nodes.contains(end))
-					outEdges.add(leqEdges.get(cur).get(end));
-			}
-			for (Node start : indeg[cur.getIndex()]) {
-				if (!nodes.contains(start))
-					inEdges.add(leqEdges.get(start).get(cur));
-			}
-		}
-		
-		// now, fix all of the collected edges
-		for (Edge edge : outEdges) {
-			if (!hasLeqEdge(center, edge.to) && !center.equals(edge.to)) {	
-				leqEdges.get(center).put(edge.to, edge); 		// add the out edge to center
-				// remove the edge from leqEdges later
-				indeg[edge.to.getIndex()].remove(edge.from); 	// fix indeg
-				indeg[edge.to.getIndex()].add(center);
-			}
-			else {												// only remove the edge, no need to add
-				indeg[edge.to.getIndex()].remove(edge.from); 	// fix indeg
-			}
-			edge.from = center;									// fix the source to be "center"
-		}		
-
-		for (Edge edge : inEdges) {
-			if (!hasLeqEdge(edge.from, center) && !edge.from.equals(center)) {	
-				leqEdges.get(edge.from).put(center, edge); 		// add the out edge to center
-				leqEdges.get(edge.from).remove(edge.to); 		// remove the old edge from leqEdges
-				indeg[edge.to.getIndex()].remove(edge.from); 	// fix indeg
-				indeg[center.getIndex()].add(edge.from);
-			}
-			else {												// only remove the edge, no need to add
-				leqEdges.get(edge.from).remove(edge.to); 		// remove the old edge from leqEdges
-				indeg[center.getIndex()].add(edge.from); 		// fix indeg
-			}
-			edge.to = center;									// fix the sink to be "center"
-		}		
-
-		// now, remove the nodes from graph, and delete the old outgoing edges
-		for (Node node : nodes) {
-			allNodes.remove(node);
-			leqEdges.remove(node);
-			
-			for (Element ele : eleToNode.keySet()) {
-				if (eleToNode.get(ele).equals(node)) {
-    				eleToNode.put(ele, center);		
-				}
-			}
-		}
-    }
-    
     /**
      * Label the entire graph as printable for the DOT format output
      */
@@ -0,0 +1,132 @@
+package sherrloc.graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import sherrloc.constraint.ast.Application;
+import sherrloc.constraint.ast.ConstructorApplication;
+import sherrloc.constraint.ast.Element;
+import sherrloc.constraint.ast.FunctionApplication;
+import sherrloc.constraint.ast.JoinElement;
+import sherrloc.constraint.ast.MeetElement;
+import sherrloc.constraint.ast.QuantifiedVariable;
+import sherrloc.constraint.ast.VariableApplication;
+
+/**
+ * An index of graph nodes by the head and the arity of their elements, such as
+ * the constructor of a constructor application. The index is used to find the
+ * nodes that may unify with an element with quantified variables (e.g., in the
+ * premise of an axiom), so that only structurally compatible nodes are tried
+ * (see {@link Element#unifyWith(Element, Map)}).
+ * <p>
+ * Heads are compared without positions, so the nodes returned for an element
+ * is a superset of the nodes that unify with the element.
+ */
+public class HeadIndex {
+	private Map<Head, List<Node>> index = new HashMap<Head, List<Node>>();
+
+	/**
+	 * The kind of an element, the head without position (or null for
+	 * elements that have no head) and the arity
+	 */
+	private static class Head {
+		private final Class<?> kind;
+		private final Element head;
+		private final int arity;
+
+		Head(Class<?> kind, Element head, int arity) {
+			this.kind = kind;
+			this.head = head;
+			this.arity = arity;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj instanceof Head) {
+				Head h = (Head) obj;
+				return kind == h.kind && arity == h.arity
+						&& (head == null ? h.head == null : head.equals(h.head));
+			}
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return kind.hashCode() * 31 + (head == null ? 0 : head.hashCode() * 7) + arity;
+		}
+	}
+
+	/**
+	 * Add node <code>n</code> to the index. Nodes whose elements have no
+	 * components (e.g., variables) are not indexed
+	 */
+	void add(Node n) {
+		Element e = n.getElement();
+		if (e instanceof Application) {
+			int arity = ((Application) e).getElements().size();
+			add(new Head(Application.class, null, arity), n);
+			if (e instanceof ConstructorApplication)
+				add(new Head(ConstructorApplication.class, ((ConstructorApplication) e).getCons().getBaseElement(), arity), n);
+			else if (e instanceof FunctionApplication)
+				add(new Head(FunctionApplication.class, ((FunctionApplication) e).getFunc().getBaseElement(), arity), n);
+			else if (e instanceof VariableApplication)
+				add(new Head(VariableApplication.class, null, arity), n);
+		} else if (e instanceof JoinElement) {
+			add(new Head(JoinElement.class, null, ((JoinElement) e).getElements().size()), n);
+		} else if (e instanceof MeetElement) {
+			add(new Head(MeetElement.class, null, ((MeetElement) e).getElements().size()), n);
+		}
+	}
+
+	private void add(Head h, Node n) {
+		List<Node> nodes = index.get(h);
+		if (nodes == null) {
+			nodes = new ArrayList<Node>();
+			index.put(h, nodes);
+		}
+		nodes.add(n);
+	}
+
+	private List<Node> get(Head h) {
+		List<Node> nodes = index.get(h);
+		return nodes == null ? Collections.<Node> emptyList() : nodes;
+	}
+
+	/**
+	 * Return the nodes that may unify with element <code>e</code> under the
+	 * substitution <code>map</code>
+	 *
+	 * @return A superset of the nodes that unify with <code>e</code>, or null
+	 *         if any node may unify with <code>e</code>
+	 */
+	public List<Node> getCandidates(Element e, Map<QuantifiedVariable, Element> map) {
+		if (e instanceof QuantifiedVariable) {
+			Element bound = map.get(e);
+			return bound == null || bound == e ? null : getCandidates(bound, map);
+		} else if (e instanceof ConstructorApplication) {
+			ConstructorApplication ca = (ConstructorApplication) e;
+			int arity = ca.getElements().size();
+			List<Node> nodes = get(new Head(ConstructorApplication.class, ca.getCons().getBaseElement(), arity));
+			// an application of a constructor variable may unify with the element as well
+			List<Node> varApps = get(new Head(VariableApplication.class, null, arity));
+			if (varApps.isEmpty())
+				return nodes;
+			List<Node> ret = new ArrayList<Node>(nodes);
+			ret.addAll(varApps);
+			return ret;
+		} else if (e instanceof FunctionApplication) {
+			FunctionApplication fa = (FunctionApplication) e;
+			return get(new Head(FunctionApplication.class, fa.getFunc().getBaseElement(), fa.getElements().size()));
+		} else if (e instanceof VariableApplication) {
+			return get(new Head(Application.class, null, ((VariableApplication) e).getElements().size()));
+		} else if (e instanceof JoinElement) {
+			return get(new Head(JoinElement.class, null, ((JoinElement) e).getElements().size()));
+		} else if (e instanceof MeetElement) {
+			return get(new Head(MeetElement.class, null, ((MeetElement) e).getElements().size()));
+		}
+		return null;
+	}
+}
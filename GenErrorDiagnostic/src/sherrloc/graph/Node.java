@@ -117,6 +117,14 @@ public class Node  {
 		return isGray;
 	}
     
+    /**
+     * Mark a node created during graph saturation as a node representing a
+     * constraint element, when a constraint using the element is added later
+     */
+    public void markAsBlack() {
+    	isGray = false;
+    }
+    
     /**
      * @return Node representation in DOT format
      */